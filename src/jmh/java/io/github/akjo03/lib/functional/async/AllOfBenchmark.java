@@ -0,0 +1,72 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Compares {@link Promise#allOf(List)} with {@link CompletableFuture#allOf} collecting the values, for inputs that
+ * are completed only after the aggregate has been set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("java:S125")
+public class AllOfBenchmark {
+    @Param({"1000", "50000"})
+    public int size;
+
+    @Setup
+    public void setUp() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.INLINE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.ASYNC);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> promiseAllOf() {
+        var promises = new ArrayList<Promise<Integer>>(size);
+        for (var i = 0; i < size; i++) { promises.add(Promise.promise()); }
+
+        var all = Promise.allOf(promises);
+        for (var i = 0; i < size; i++) { promises.get(i).success(i); }
+        return all.join();
+    }
+
+    @Benchmark
+    public List<Integer> completableFutureAllOf() {
+        var futures = new ArrayList<CompletableFuture<Integer>>(size);
+        for (var i = 0; i < size; i++) { futures.add(new CompletableFuture<>()); }
+
+        var all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+        for (var i = 0; i < size; i++) { futures.get(i).complete(i); }
+        return all.join();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Latency and, with {@code -prof gc}, allocation per {@code map} stage in each {@link CompletionMode}. Each
+ * invocation builds a chain on an unresolved promise, resolves it and joins the last stage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("java:S125")
+public class CompletionBenchmark {
+    private static final int STAGES = 16;
+
+    @Param({"ASYNC", "INLINE"})
+    public CompletionMode mode;
+
+    @Setup
+    public void setUp() {
+        AsyncExecutor.INSTANCE.use(mode);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.ASYNC);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAGES)
+    public Result<Integer> mapStage() {
+        var root = Promise.<Integer>promise();
+        Promise<Integer> current = root;
+        for (var i = 0; i < STAGES; i++) { current = current.map(value -> value + 1); }
+
+        root.success(0);
+        return current.join();
+    }
+}
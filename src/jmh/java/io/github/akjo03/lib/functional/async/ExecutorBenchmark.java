@@ -0,0 +1,71 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Compares the execution strategies of {@link AsyncExecutor} for a short CPU-bound task followed by one
+ * continuation, measured from submission until the result is joined.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("java:S125")
+public class ExecutorBenchmark {
+    @Param({"virtualThreads", "platformThreads", "forkJoin", "callerRuns"})
+    public String strategy;
+
+    private Executor executor;
+
+    @Setup
+    public void setUp() {
+        executor = switch (strategy) {
+            case "virtualThreads" -> AsyncExecutor.virtualThreads();
+            case "platformThreads" -> AsyncExecutor.platformThreads(Runtime.getRuntime().availableProcessors());
+            case "forkJoin" -> AsyncExecutor.forkJoin();
+            case "callerRuns" -> AsyncExecutor.callerRuns();
+            default -> throw new IllegalArgumentException("Unknown strategy " + strategy + "!");
+        };
+        AsyncExecutor.INSTANCE.use(executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.virtualThreads());
+        if (executor instanceof ExecutorService service) { service.shutdown(); }
+    }
+
+    @Benchmark
+    public Result<Long> continuation() {
+        return Promise.<Long>promise(promise -> promise.success(work(64))).map(value -> value + 1).join();
+    }
+
+    private static long work(int rounds) {
+        var hash = 17L;
+        for (var i = 0; i < rounds; i++) { hash = hash * 31 + i; }
+        return hash;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.akjo03.lib.functional;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Exception carrying a {@link Cause} across APIs that can only report failures as throwables.
+ * It has no stack trace, since the cause already describes the failure.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public class CauseException extends RuntimeException {
+    private final transient Cause failure;
+
+    public CauseException(Cause failure) {
+        super(failure.message(), null, false, false);
+        this.failure = failure;
+    }
+
+    public Cause failure() { return failure; }
+}
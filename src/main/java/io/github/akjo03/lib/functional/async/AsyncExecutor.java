@@ -1,7 +1,21 @@
 package io.github.akjo03.lib.functional.async;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import io.github.akjo03.lib.functional.Terminatable;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.AsyncClosable;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import io.github.akjo03.lib.io.TimingWheel;
+import org.jetbrains.annotations.Contract;
+import jdk.jfr.EventType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /*
  *  Copyright (c) 2023 Sergiy Yevtushenko.
@@ -25,12 +39,330 @@ import java.util.concurrent.Executors;
  *  See https://github.com/siy/pragmatica/blob/b05a6985c1b4277f15ca6d7319334d721a33f8b8/core/src/main/java/org/pragmatica/lang/Promise.java#L976
  */
 @SuppressWarnings({"unused", "java:S125", "java:S6548"})
-public enum AsyncExecutor {
+public enum AsyncExecutor implements AsyncClosable, Terminatable {
     INSTANCE;
 
-    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    /**
+     * Outcome of closing the executor: tasks that finished while draining, tasks cancelled once the timeout
+     * passed, and submissions rejected because the executor was closing.
+     */
+    public record DrainReport(int drained, int cancelled, long rejected) {}
+
+    private static final EventType TASK_DELAY = EventType.getEventType(PromiseEvents.TaskDelay.class);
+
+    private volatile Executor executor = virtualThreads();
+    private volatile CompletionMode completionMode = CompletionMode.ASYNC;
+    private volatile Scheduler scheduler;
+    private volatile Lifecycle lifecycle = new Lifecycle();
 
+    // ----- Execution Methods -----
+
+    /** Runs new work. Rejected with a {@link RejectedExecutionException} once the executor is closing. */
     public void runAsync(Runnable runnable) {
-        executor.submit(runnable);
+        runAsync(executor, runnable);
+    }
+
+    public void runAsync(@NotNull Executor executor, Runnable runnable) {
+        if (!submit(executor, null, runnable)) {
+            throw new RejectedExecutionException("AsyncExecutor is closing and does not accept new work!");
+        }
+    }
+
+    public Scheduler.Timer schedule(@NotNull Timeout delay, Runnable runnable) {
+        return schedule(executor, delay, runnable);
+    }
+
+    public Scheduler.Timer schedule(@NotNull Executor executor, @NotNull Timeout delay, Runnable runnable) {
+        return scheduler().schedule(delay, () -> dispatch(executor, runnable));
+    }
+
+    /**
+     * Runs new work, optionally producing the given promise, which is then tracked until it is resolved. While the
+     * executor is open, tracking is a single counter update. Returns false and cancels the given promise if the work
+     * was rejected.
+     */
+    boolean submit(@NotNull Executor executor, Promise.PromiseImpl.Tracked<?> promise, Runnable runnable) {
+        var current = lifecycle;
+        if (!current.enter()) { return rejected(null, promise); }
+
+        // Promise work checks the lifecycle itself when it runs, see skip and ran below.
+        if (promise != null) { promise.track(current); }
+
+        try {
+            executor.execute(instrument(executor, promise != null ? runnable : new Task(current, runnable)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return rejected(current, promise);
+        }
+    }
+
+    // Kept out of submit so that it stays small enough to be inlined.
+    private static boolean rejected(Lifecycle current, Promise.PromiseImpl.Tracked<?> promise) {
+        if (promise != null) {
+            promise.track(null);
+            promise.cancel();
+        }
+
+        // Rejected by the underlying executor after entering the lifecycle.
+        if (current != null) {
+            current.rejected.increment();
+            current.release();
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs a continuation of existing work, such as completing a promise or a timer firing. Continuations are never
+     * rejected, and run on the calling thread once the executor has been shut down.
+     */
+    void dispatch(@NotNull Executor executor, Runnable runnable) {
+        try {
+            executor.execute(instrument(executor, runnable));
+        } catch (RejectedExecutionException e) {
+            runnable.run();
+        }
+    }
+
+    void dispatch(Runnable runnable) {
+        dispatch(executor, runnable);
+    }
+
+    // ----- Closing Methods -----
+
+    /** Stops accepting new work and resolves once every in-flight task has finished. */
+    @Override
+    public Promise<Unit> close() {
+        return drain(null).map(() -> Unit.unit());
+    }
+
+    public Promise<Unit> close(@NotNull Timeout timeout) {
+        return drain(timeout).map(() -> Unit.unit());
+    }
+
+    /**
+     * Stops accepting new work and waits for in-flight tasks to finish. Once the timeout has passed, tasks still
+     * queued and promises still unresolved are cancelled with {@link OperationException#CANCELLED}. Afterwards the
+     * executor is shut down if it is an {@link ExecutorService}. Installing a new executor with {@link #use(Executor)}
+     * opens the async layer again.
+     */
+    public Promise<DrainReport> drain(Timeout timeout) {
+        var current = lifecycle;
+        if (!current.begin(executor)) { return current.report; }
+
+        if (timeout != null) {
+            var timer = scheduler().schedule(timeout, current::cancelRemaining);
+            current.done.onResultDo(timer::cancel);
+        }
+
+        current.tryDrained();
+        return current.report;
+    }
+
+    /** Closes with an immediate timeout, cancelling what {@link #drain(Timeout)} would, and shuts the executor down. */
+    @Override
+    public void terminate() {
+        var current = lifecycle;
+        var closedExecutor = executor;
+
+        drain(null);
+        current.cancelRemaining();
+
+        // Work still queued cancels its promise and releases the lifecycle when run, as cancelling has begun.
+        if (closedExecutor instanceof ExecutorService service) { service.shutdownNow().forEach(Runnable::run); }
+    }
+
+    public boolean isClosing() {
+        return lifecycle.closing;
+    }
+
+    public int inFlight() {
+        return (int) lifecycle.inFlight.get();
+    }
+
+    // ----- Configuration -----
+
+    public Executor executor() {
+        return executor;
+    }
+
+    @Contract("_ -> this")
+    public AsyncExecutor use(@NotNull Executor executor) {
+        this.executor = executor;
+        if (lifecycle.closing) { lifecycle = new Lifecycle(); }
+        return this;
+    }
+
+    public Scheduler scheduler() {
+        var current = scheduler;
+        return current != null ? current : TimingWheel.shared();
+    }
+
+    /** Current time of the installed scheduler, used by the time-based utilities of the async layer. */
+    public long nanoTime() {
+        return scheduler().nanoTime();
+    }
+
+    @Contract("_ -> this")
+    public AsyncExecutor use(@NotNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    public CompletionMode completionMode() {
+        return completionMode;
+    }
+
+    @Contract("_ -> this")
+    public AsyncExecutor use(@NotNull CompletionMode completionMode) {
+        this.completionMode = completionMode;
+        return this;
+    }
+
+    // ----- Internal Classes -----
+
+    static final class Lifecycle {
+        // An atomic counter rather than a LongAdder, whose sum is no snapshot and could read zero too early.
+        private final AtomicLong inFlight = new AtomicLong();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger drained = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+        // Promises whose work has run without resolving them, so they can be cancelled on timeout.
+        private final Set<Promise<?>> pending = ConcurrentHashMap.newKeySet();
+        private final Promise<Unit> done = Promise.promise();
+        private final Promise<DrainReport> report = Promise.promise();
+        private volatile boolean closing;
+        private volatile boolean cancelling;
+
+        private boolean enter() {
+            inFlight.incrementAndGet();
+            if (!closing) { return true; }
+
+            rejected.increment();
+            release();
+            return false;
+        }
+
+        private void leave() {
+            if (closing && !cancelling) { drained.incrementAndGet(); }
+            release();
+        }
+
+        private void release() {
+            if (inFlight.decrementAndGet() == 0) { tryDrained(); }
+        }
+
+        void settled(Promise<?> promise) {
+            if (!pending.isEmpty()) { pending.remove(promise); }
+            leave();
+        }
+
+        /** Called before the work of a tracked promise runs. Returns true if it was cancelled instead. */
+        boolean skip(Promise<?> promise) {
+            if (!cancelling) { return false; }
+
+            cancel(promise);
+            return true;
+        }
+
+        /** Called after the work of a tracked promise has run. Synchronous work has resolved the promise by then. */
+        void ran(Promise<?> promise) {
+            if (!promise.isResolved()) { watch(promise); }
+        }
+
+        private synchronized boolean begin(Executor executor) {
+            if (closing) { return false; }
+
+            closing = true;
+            done.onResultDo(() -> {
+                if (executor instanceof ExecutorService service) { service.shutdown(); }
+                report.success(new DrainReport(drained.get(), cancelled.get(), rejected.sum()));
+            });
+            return true;
+        }
+
+        private void tryDrained() {
+            if (closing && inFlight.get() == 0) { done.success(Unit.unit()); }
+        }
+
+        private void watch(Promise<?> promise) {
+            pending.add(promise);
+
+            if (promise.isResolved()) {
+                pending.remove(promise);
+            } else if (cancelling && pending.remove(promise)) {
+                cancel(promise);
+            }
+        }
+
+        private void cancelRemaining() {
+            cancelling = true;
+            pending.forEach(promise -> {
+                if (pending.remove(promise)) { cancel(promise); }
+            });
+            done.success(Unit.unit());
+        }
+
+        private void cancel(Promise<?> promise) {
+            if (promise.isResolved()) { return; }
+
+            cancelled.incrementAndGet();
+            promise.cancel();
+        }
+    }
+
+    private record Task(Lifecycle lifecycle, Runnable action) implements Runnable {
+        @Override
+        public void run() {
+            // Still queued when the drain timed out.
+            if (lifecycle.cancelling) {
+                lifecycle.cancelled.incrementAndGet();
+                lifecycle.release();
+                return;
+            }
+
+            try {
+                action.run();
+            } finally {
+                lifecycle.leave();
+            }
+        }
+    }
+
+    private static @NotNull Runnable instrument(@NotNull Executor executor, Runnable runnable) {
+        var task = PromiseMetrics.ENABLED ? PromiseMetrics.taskSubmitted(runnable) : runnable;
+
+        // Checked on the event type, so no event is allocated on the hot path while recording is off.
+        if (!TASK_DELAY.isEnabled()) { return task; }
+
+        var event = new PromiseEvents.TaskDelay();
+        event.begin();
+        return () -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.executor = executor.getClass().getName();
+                event.commit();
+            }
+            task.run();
+        };
+    }
+
+    // ----- Execution Strategies -----
+
+    public static @NotNull Executor virtualThreads() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public static @NotNull Executor platformThreads(int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().factory());
+    }
+
+    public static @NotNull Executor forkJoin() {
+        return ForkJoinPool.commonPool();
+    }
+
+    @Contract(pure = true)
+    public static @NotNull Executor callerRuns() {
+        return Runnable::run;
     }
 }
\ No newline at end of file
@@ -0,0 +1,397 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.AsyncClosable;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import io.github.akjo03.lib.validation.Validator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Pool of expensive objects handed out as leases. Idle objects are reused most recently released first and checked
+ * with the validator before being handed out. Once all objects are leased and the maximum size is reached, callers
+ * wait for the next release instead of blocking a thread. Objects idle for longer than the idle timeout are evicted
+ * down to the minimum size. Evicted, invalidated and closed objects are closed if they are {@link AsyncClosable}.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class AsyncPool<T> implements AsyncClosable {
+    private record Idle<T>(T value, long since) {}
+
+    /**
+     * Object leased from the pool. Exactly one of {@link #release()} and {@link #invalidate()} takes effect, later
+     * calls are ignored.
+     */
+    public static final class Lease<T> {
+        private final AsyncPool<T> pool;
+        private final T value;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private Lease(AsyncPool<T> pool, T value) {
+            this.pool = pool;
+            this.value = value;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        /** Returns the object to the pool. */
+        public void release() {
+            if (returned.compareAndSet(false, true)) { pool.release(value); }
+        }
+
+        /** Removes the object from the pool, for example after it failed during use. */
+        public void invalidate() {
+            if (returned.compareAndSet(false, true)) { pool.destroy(value); }
+        }
+    }
+
+    private final Function0<Promise<T>> factory;
+    private final int minSize;
+    private final int maxSize;
+    private final Timeout idleTimeout;
+    private final Validator<T> validator;
+
+    private final Deque<Idle<T>> idle = new ConcurrentLinkedDeque<>();
+    private final Queue<Promise<Lease<T>>> waiters = new ConcurrentLinkedQueue<>();
+    // Live objects, including the ones still being created.
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger disposing = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Promise<Unit> closed = Promise.promise();
+    private volatile boolean closing;
+    private volatile Scheduler.Timer evictionTimer;
+
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder destructions = new LongAdder();
+
+    private AsyncPool(Function0<Promise<T>> factory, int minSize, int maxSize, @NotNull Timeout idleTimeout, Validator<T> validator) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum size of AsyncPool must not be negative, but was " + minSize + "!");
+        }
+        if (maxSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Maximum size of AsyncPool must be at least 1 and the minimum size, but was " + maxSize + "!");
+        }
+        if (idleTimeout.nanoseconds() < 1) {
+            throw new IllegalArgumentException("Idle timeout of AsyncPool must be positive, but was " + idleTimeout + "!");
+        }
+
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.validator = validator;
+
+        replenish();
+        scheduleEviction();
+    }
+
+    @Contract("_, _, _, _ -> new")
+    public static <T> @NotNull AsyncPool<T> pool(Function0<Promise<T>> factory, int minSize, int maxSize, @NotNull Timeout idleTimeout) {
+        return new AsyncPool<>(factory, minSize, maxSize, idleTimeout, null);
+    }
+
+    @Contract("_, _, _, _, _ -> new")
+    public static <T> @NotNull AsyncPool<T> pool(
+            Function0<Promise<T>> factory,
+            int minSize,
+            int maxSize,
+            @NotNull Timeout idleTimeout,
+            Validator<T> validator
+    ) { return new AsyncPool<>(factory, minSize, maxSize, idleTimeout, validator); }
+
+    // ----- Lease Methods -----
+
+    public @NotNull Promise<Lease<T>> acquire() {
+        if (closing) { return RejectionCause.POOL_CLOSED.promise(); }
+
+        var value = pollIdle();
+        if (value != null) { return Promise.successful(new Lease<>(this, value)); }
+
+        var promise = Promise.<Lease<T>>promise();
+        if (tryGrow()) {
+            create(promise);
+        } else {
+            waiters.offer(promise);
+            // A release between the failed attempts above and queueing would otherwise go unnoticed.
+            drain();
+        }
+
+        return promise;
+    }
+
+    public <R> @NotNull Promise<R> withLease(Function1<Promise<R>, T> operation) {
+        return acquire().flatMap(lease -> {
+            Promise<R> result;
+            try {
+                result = operation.apply(lease.value());
+            } catch (RuntimeException e) {
+                result = Promise.failed(Causes.fromThrowable(e));
+            }
+
+            return result.onResultDo(lease::release);
+        });
+    }
+
+    // ----- Closing Methods -----
+
+    /**
+     * Fails waiting callers with {@link RejectionCause#POOL_CLOSED} and closes all idle objects in parallel.
+     * Leased objects are closed once they are released. Resolves when every object has been closed.
+     */
+    @Override
+    public Promise<Unit> close() {
+        if (closing) { return closed; }
+        closing = true;
+
+        var timer = evictionTimer;
+        if (timer != null) { timer.cancel(); }
+
+        Promise<Lease<T>> waiter;
+        while ((waiter = waiters.poll()) != null) { waiter.failure(RejectionCause.POOL_CLOSED); }
+
+        destroyIdle();
+        completeClose();
+        return closed;
+    }
+
+    // ----- State Methods -----
+
+    public int size() {
+        return size.get();
+    }
+
+    public int idle() {
+        return idleCount.get();
+    }
+
+    public int waiting() {
+        return waiters.size();
+    }
+
+    public long createdCount() {
+        return creations.sum();
+    }
+
+    public long destroyedCount() {
+        return destructions.sum();
+    }
+
+    // ----- Internal Methods -----
+
+    private T pollIdle() {
+        Idle<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+
+            var value = entry.value();
+            if (isValid(value)) { return value; }
+            destroy(value);
+        }
+
+        return null;
+    }
+
+    private boolean isValid(T value) {
+        if (validator == null) { return true; }
+
+        try {
+            return validator.validate(() -> value).isSuccess();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean tryGrow() {
+        while (true) {
+            var current = size.get();
+            if (current >= maxSize) { return false; }
+            if (size.compareAndSet(current, current + 1)) { return true; }
+        }
+    }
+
+    private boolean tryShrink() {
+        while (true) {
+            var current = size.get();
+            if (current <= minSize) { return false; }
+            if (size.compareAndSet(current, current - 1)) { return true; }
+        }
+    }
+
+    private void create(Promise<Lease<T>> promise) {
+        Promise<T> created;
+        try {
+            created = factory.apply();
+        } catch (RuntimeException e) {
+            created = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        created.onSuccess(value -> {
+            creations.increment();
+            if (promise == null) {
+                release(value);
+            } else {
+                handOver(promise, value);
+            }
+        }).onFailure(cause -> {
+            size.decrementAndGet();
+            if (promise != null) { promise.failure(cause); }
+            completeClose();
+            drain();
+        });
+    }
+
+    private void handOver(@NotNull Promise<Lease<T>> promise, T value) {
+        var lease = new Lease<>(this, value);
+        promise.success(lease);
+
+        // The caller may have given up in the meantime, in which case the object goes back to the pool.
+        promise.onResult(result -> result.onFailureDo(lease::release));
+    }
+
+    private void release(T value) {
+        if (closing) {
+            destroy(value);
+            return;
+        }
+
+        idle.offerFirst(new Idle<>(value, AsyncExecutor.INSTANCE.nanoTime()));
+        idleCount.incrementAndGet();
+        drain();
+
+        // Closing may have started while the object was being put back.
+        if (closing) { destroyIdle(); }
+    }
+
+    private void destroyIdle() {
+        Idle<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            destroy(entry.value());
+        }
+    }
+
+    private void destroy(T value) {
+        size.decrementAndGet();
+        dispose(value);
+        drain();
+    }
+
+    private void dispose(T value) {
+        destructions.increment();
+        if (!(value instanceof AsyncClosable closable)) {
+            completeClose();
+            return;
+        }
+
+        disposing.incrementAndGet();
+        Promise<Unit> closing;
+        try {
+            closing = closable.close();
+        } catch (RuntimeException e) {
+            closing = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        closing.onResultDo(() -> {
+            disposing.decrementAndGet();
+            completeClose();
+        });
+    }
+
+    private void completeClose() {
+        if (closing && size.get() == 0 && disposing.get() == 0) { closed.success(Unit.unit()); }
+    }
+
+    private void drain() {
+        // Same scheme as the Bulkhead: releasers and enqueuers both drain, the wip counter prevents recursion.
+        if (wip.getAndIncrement() != 0) { return; }
+
+        do {
+            while (!closing && !waiters.isEmpty()) {
+                var value = pollIdle();
+                if (value == null && !tryGrow()) { break; }
+
+                var waiter = waiters.poll();
+                if (waiter == null || waiter.isResolved()) {
+                    if (value != null) {
+                        idle.offerFirst(new Idle<>(value, AsyncExecutor.INSTANCE.nanoTime()));
+                        idleCount.incrementAndGet();
+                    } else {
+                        size.decrementAndGet();
+                    }
+                    continue;
+                }
+
+                if (value != null) {
+                    handOver(waiter, value);
+                } else {
+                    create(waiter);
+                }
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void replenish() {
+        while (!closing && size.get() < minSize && tryGrow()) { create(null); }
+    }
+
+    private void scheduleEviction() {
+        if (closing) { return; }
+
+        var interval = Timeout.timeout(Math.max(1, idleTimeout.nanoseconds() / 2)).nanos();
+        // Evictions close objects, so they run on the executor rather than on the scheduler thread.
+        evictionTimer = AsyncExecutor.INSTANCE.schedule(interval, () -> {
+            evict();
+            scheduleEviction();
+        });
+    }
+
+    private void evict() {
+        var now = AsyncExecutor.INSTANCE.nanoTime();
+        var iterator = idle.descendingIterator();
+
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (now - entry.since() < idleTimeout.nanoseconds()) { break; }
+            if (!tryShrink()) { break; }
+
+            if (idle.removeFirstOccurrence(entry)) {
+                idleCount.decrementAndGet();
+                dispose(entry.value());
+            } else {
+                size.incrementAndGet();
+            }
+        }
+
+        replenish();
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Collects single-key loads into batches and resolves them with one bulk call. A batch is dispatched once the
+ * window after its first key has passed or once it reaches the maximum size. Keys requested several times
+ * within a batch are only passed to the bulk call once. With caching enabled, the promise of every key is kept
+ * for the lifetime of the loader, so later loads of the same key do not hit the bulk call again.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class BatchingLoader<K, V> {
+    private record Node<K, V>(K key, Promise<V> promise, Node<K, V> next, int size) {}
+
+    private static final class Batch<K, V> {
+        @SuppressWarnings("rawtypes")
+        private static final Node CLOSED = new Node<>(null, null, null, -1);
+
+        private final AtomicReference<Node<K, V>> head = new AtomicReference<>();
+        private volatile Scheduler.Timer timer;
+    }
+
+    private final Function1<Promise<Map<K, V>>, Set<K>> bulkLoader;
+    private final Timeout window;
+    private final int maxBatchSize;
+    private final ConcurrentMap<K, Promise<V>> cache;
+    private final AtomicReference<Batch<K, V>> current = new AtomicReference<>(new Batch<>());
+
+    @Contract(pure = true)
+    private BatchingLoader(Function1<Promise<Map<K, V>>, Set<K>> bulkLoader, @NotNull Timeout window, int maxBatchSize, boolean cache) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size of BatchingLoader must be at least 1, but was " + maxBatchSize + "!");
+        }
+
+        this.bulkLoader = bulkLoader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.cache = cache ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Contract("_, _, _ -> new")
+    public static <K, V> @NotNull BatchingLoader<K, V> batchingLoader(
+            Function1<Promise<Map<K, V>>, Set<K>> bulkLoader,
+            @NotNull Timeout window,
+            int maxBatchSize
+    ) { return new BatchingLoader<>(bulkLoader, window, maxBatchSize, false); }
+
+    @Contract("_, _, _, _ -> new")
+    public static <K, V> @NotNull BatchingLoader<K, V> batchingLoader(
+            Function1<Promise<Map<K, V>>, Set<K>> bulkLoader,
+            @NotNull Timeout window,
+            int maxBatchSize,
+            boolean cache
+    ) { return new BatchingLoader<>(bulkLoader, window, maxBatchSize, cache); }
+
+    // ----- Load Methods -----
+
+    public @NotNull Promise<V> load(@NotNull K key) {
+        if (cache == null) { return enqueue(key); }
+
+        var promise = Promise.<V>promise();
+        while (true) {
+            var cached = cache.putIfAbsent(key, promise);
+            if (cached == null) { break; }
+            if (!hasFailed(cached)) { return cached.map(value -> value); }
+
+            // Failed entries are evicted by a listener, which may not have run yet.
+            cache.remove(key, cached);
+        }
+
+        // Failures are not cached, so a later load retries the key. This includes the cached promise being
+        // cancelled once every caller waiting on it has cancelled.
+        promise.onResult(result -> {
+            if (result.isFailure()) { cache.remove(key, promise); }
+        });
+        enqueue(key).onResult(promise::resolve);
+
+        // Each caller gets its own dependent promise, so one caller cancelling does not fail the shared entry.
+        return promise.map(value -> value);
+    }
+
+    public @NotNull Promise<List<V>> loadAll(@NotNull Collection<K> keys) {
+        var promises = new ArrayList<Promise<V>>(keys.size());
+        for (var key : keys) { promises.add(load(key)); }
+
+        return Promise.allOf(promises);
+    }
+
+    /** Dispatches the current batch right away instead of waiting for its window to pass. */
+    public void flush() {
+        dispatch(current.get());
+    }
+
+    public void clear(@NotNull K key) {
+        if (cache != null) { cache.remove(key); }
+    }
+
+    public void clearAll() {
+        if (cache != null) { cache.clear(); }
+    }
+
+    // ----- Internal Methods -----
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Promise<V> enqueue(@NotNull K key) {
+        var promise = Promise.<V>promise();
+
+        while (true) {
+            var batch = current.get();
+            var head = batch.head.get();
+
+            if (head == Batch.CLOSED) {
+                current.compareAndSet(batch, new Batch<>());
+                continue;
+            }
+
+            // A full batch that is not closed yet is dispatched by whoever gets to it first.
+            if (head != null && head.size() >= maxBatchSize) {
+                dispatch(batch);
+                continue;
+            }
+
+            var node = new Node<>(key, promise, head, head == null ? 1 : head.size() + 1);
+            if (!batch.head.compareAndSet(head, node)) { continue; }
+
+            if (node.size() == 1) { batch.timer = AsyncExecutor.INSTANCE.schedule(window, () -> dispatch(batch)); }
+            if (node.size() >= maxBatchSize) { dispatch(batch); }
+
+            return promise;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(@NotNull Batch<K, V> batch) {
+        // A batch never becomes empty again once it has a key, so an empty batch is left open for its first key.
+        if (batch.head.get() == null) { return; }
+
+        var head = batch.head.getAndSet(Batch.CLOSED);
+        if (head == Batch.CLOSED) { return; }
+
+        current.compareAndSet(batch, new Batch<>());
+
+        var timer = batch.timer;
+        if (timer != null) { timer.cancel(); }
+
+        var nodes = new ArrayList<Node<K, V>>(head.size());
+        for (var node = head; node != null; node = node.next()) { nodes.add(node); }
+        Collections.reverse(nodes);
+
+        var keys = new LinkedHashSet<K>();
+        for (var node : nodes) { keys.add(node.key()); }
+
+        Promise<Map<K, V>> bulk;
+        try {
+            bulk = bulkLoader.apply(Collections.unmodifiableSet(keys));
+        } catch (RuntimeException e) {
+            bulk = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        bulk.onResult(result -> result.accept(
+                cause -> nodes.forEach(node -> node.promise().failure(cause)),
+                values -> nodes.forEach(node -> node.promise().resolve(valueOf(values, node.key())))
+        ));
+    }
+
+    private static boolean hasFailed(@NotNull Promise<?> promise) {
+        if (!promise.isResolved()) { return false; }
+
+        // Listeners of a resolved promise run right away, so this reads the result without waiting.
+        var failed = new boolean[1];
+        promise.onResult(result -> failed[0] = result.isFailure());
+        return failed[0];
+    }
+
+    private @NotNull Result<V> valueOf(@NotNull Map<K, V> values, K key) {
+        var value = values.get(key);
+
+        return value != null || values.containsKey(key)
+                ? Result.success(value)
+                : Causes.cause("Bulk load returned no value for key {0}!", key).result();
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.util.Causes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Bulkhead limiting the number of concurrently running promise-returning operations. Calls beyond the limit
+ * wait in a bounded queue, and calls beyond the queue fail fast with {@link RejectionCause#BULKHEAD_FULL}.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class Bulkhead {
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @Contract(pure = true)
+    private Bulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Maximum concurrent calls of Bulkhead must be at least 1, but was " + maxConcurrent + "!");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queued calls of Bulkhead must not be negative, but was " + maxQueued + "!");
+        }
+
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull Bulkhead bulkhead(int maxConcurrent) {
+        return new Bulkhead(maxConcurrent, 0);
+    }
+
+    @Contract("_, _ -> new")
+    public static @NotNull Bulkhead bulkhead(int maxConcurrent, int maxQueued) {
+        return new Bulkhead(maxConcurrent, maxQueued);
+    }
+
+    // ----- Call Methods -----
+
+    @Contract(pure = true)
+    public <R, T> @NotNull Function1<Promise<R>, T> wrap(Function1<Promise<R>, T> operation) {
+        return value -> call(() -> operation.apply(value));
+    }
+
+    public <R> @NotNull Promise<R> call(Function0<Promise<R>> operation) {
+        if (tryAcquire()) {
+            var promise = Promise.<R>promise();
+            run(operation, promise);
+            return promise;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejections.increment();
+            return RejectionCause.BULKHEAD_FULL.promise();
+        }
+
+        var promise = Promise.<R>promise();
+        queue.offer(() -> run(operation, promise));
+        drain();
+        return promise;
+    }
+
+    // ----- State Methods -----
+
+    public int active() {
+        return active.get();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long completedCount() {
+        return completions.sum();
+    }
+
+    public long rejectedCount() {
+        return rejections.sum();
+    }
+
+    // ----- Internal Methods -----
+
+    private boolean tryAcquire() {
+        while (true) {
+            var current = active.get();
+            if (current >= maxConcurrent) { return false; }
+            if (active.compareAndSet(current, current + 1)) { return true; }
+        }
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        // Enqueuers and releasers both drain, so a task queued right after the last release is still picked up.
+        // The wip counter keeps synchronously completing tasks from recursing back into the drain loop.
+        if (wip.getAndIncrement() != 0) { return; }
+
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                var task = queue.poll();
+                if (task == null) {
+                    active.decrementAndGet();
+                    continue;
+                }
+
+                queued.decrementAndGet();
+                task.run();
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private <R> void run(Function0<Promise<R>> operation, @NotNull Promise<R> promise) {
+        // Calls cancelled while waiting in the queue give their slot straight back.
+        if (promise.isResolved()) {
+            release();
+            return;
+        }
+
+        Promise<R> inner;
+        try {
+            inner = operation.apply();
+        } catch (RuntimeException e) {
+            inner = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        var current = inner;
+        promise.onResultDo(current::cancel);
+        current.onResult(result -> {
+            completions.increment();
+            release();
+            promise.resolve(result);
+        });
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Circuit breaker for promise-returning operations. After a number of consecutive failures the circuit opens
+ * and calls fail fast with {@link RejectionCause#CIRCUIT_OPEN} until the open duration has passed, after which
+ * a limited number of probe calls decide whether the circuit closes again.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private record Snapshot(State state, int failures, int probes, long openedAt, long epoch) {}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(State.CLOSED, 0, 0, 0, 0));
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @Contract(pure = true)
+    private CircuitBreaker(int failureThreshold, @NotNull Timeout openDuration, int halfOpenCalls) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold of CircuitBreaker must be at least 1, but was " + failureThreshold + "!");
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Half-open calls of CircuitBreaker must be at least 1, but was " + halfOpenCalls + "!");
+        }
+
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.nanoseconds();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @Contract("_, _ -> new")
+    public static @NotNull CircuitBreaker circuitBreaker(int failureThreshold, @NotNull Timeout openDuration) {
+        return new CircuitBreaker(failureThreshold, openDuration, 1);
+    }
+
+    @Contract("_, _, _ -> new")
+    public static @NotNull CircuitBreaker circuitBreaker(int failureThreshold, @NotNull Timeout openDuration, int halfOpenCalls) {
+        return new CircuitBreaker(failureThreshold, openDuration, halfOpenCalls);
+    }
+
+    // ----- Call Methods -----
+
+    @Contract(pure = true)
+    public <R, T> @NotNull Function1<Promise<R>, T> wrap(Function1<Promise<R>, T> operation) {
+        return value -> call(() -> operation.apply(value));
+    }
+
+    public <R> @NotNull Promise<R> call(Function0<Promise<R>> operation) {
+        var permit = acquire();
+        if (permit == null) {
+            rejections.increment();
+            return RejectionCause.CIRCUIT_OPEN.promise();
+        }
+
+        Promise<R> inner;
+        try {
+            inner = operation.apply();
+        } catch (RuntimeException e) {
+            inner = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        var current = inner;
+        var promise = Promise.<R>promise();
+        promise.onResultDo(current::cancel);
+        current.onResult(result -> {
+            record(permit, result);
+            promise.resolve(result);
+        });
+        return promise;
+    }
+
+    // ----- State Methods -----
+
+    public @NotNull State state() {
+        var current = snapshot.get();
+        if (current.state() == State.OPEN && AsyncExecutor.INSTANCE.nanoTime() - current.openedAt() >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return current.state();
+    }
+
+    public int consecutiveFailures() {
+        return snapshot.get().failures();
+    }
+
+    public long successCount() {
+        return successes.sum();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    public long rejectedCount() {
+        return rejections.sum();
+    }
+
+    public void reset() {
+        snapshot.updateAndGet(current -> new Snapshot(State.CLOSED, 0, 0, 0, current.epoch() + 1));
+    }
+
+    // ----- Internal Methods -----
+
+    private Snapshot acquire() {
+        while (true) {
+            var current = snapshot.get();
+
+            Snapshot next;
+            switch (current.state()) {
+                case CLOSED -> { return current; }
+                case OPEN -> {
+                    if (AsyncExecutor.INSTANCE.nanoTime() - current.openedAt() < openNanos) { return null; }
+                    next = new Snapshot(State.HALF_OPEN, 0, 1, 0, current.epoch() + 1);
+                }
+                default -> {
+                    if (current.probes() >= halfOpenCalls) { return null; }
+                    next = new Snapshot(State.HALF_OPEN, 0, current.probes() + 1, 0, current.epoch());
+                }
+            }
+
+            if (snapshot.compareAndSet(current, next)) { return next; }
+        }
+    }
+
+    private void record(Snapshot permit, @NotNull Result<?> result) {
+        if (result.isSuccess()) {
+            successes.increment();
+            transition(permit, true);
+            return;
+        }
+
+        // Cancellation is decided by the caller and says nothing about the health of the operation,
+        // so a cancelled probe only hands its slot back.
+        if (result.fold(cause -> cause == OperationException.CANCELLED, value -> false)) {
+            snapshot.getAndUpdate(current -> current.epoch() == permit.epoch() && current.state() == State.HALF_OPEN
+                    ? new Snapshot(State.HALF_OPEN, 0, current.probes() - 1, 0, current.epoch())
+                    : current
+            );
+            return;
+        }
+
+        failures.increment();
+        transition(permit, false);
+    }
+
+    private void transition(Snapshot permit, boolean success) {
+        while (true) {
+            var current = snapshot.get();
+            if (current.epoch() != permit.epoch() || current.state() == State.OPEN) { return; }
+
+            Snapshot next;
+            if (success) {
+                if (current.state() == State.CLOSED && current.failures() == 0) { return; }
+                next = new Snapshot(State.CLOSED, 0, 0, 0, current.state() == State.CLOSED ? current.epoch() : current.epoch() + 1);
+            } else if (current.state() == State.HALF_OPEN || current.failures() + 1 >= failureThreshold) {
+                next = new Snapshot(State.OPEN, 0, 0, AsyncExecutor.INSTANCE.nanoTime(), current.epoch() + 1);
+            } else {
+                next = new Snapshot(State.CLOSED, current.failures() + 1, 0, 0, current.epoch());
+            }
+
+            if (snapshot.compareAndSet(current, next)) { return; }
+        }
+    }
+}
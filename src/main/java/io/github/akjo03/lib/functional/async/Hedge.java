@@ -0,0 +1,127 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class Hedge<T> {
+    private final Function0<Promise<T>> operation;
+    private final Timeout delay;
+    private final int maxAttempts;
+    private final Promise<T> promise = Promise.promise();
+    private final Queue<Promise<T>> attempts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private volatile Scheduler.Timer timer;
+    private volatile Cause lastCause = OperationException.CANCELLED;
+
+    Hedge(Function0<Promise<T>> operation, @NotNull Timeout delay, int maxAttempts) {
+        this.operation = operation;
+        this.delay = delay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    Promise<T> start() {
+        if (maxAttempts < 1) {
+            return Causes.cause("Maximum attempts must be greater than 0, but was {0}!", maxAttempts).promise();
+        }
+
+        promise.onResultDo(this::stop);
+
+        launch();
+        return promise;
+    }
+
+    private void launch() {
+        if (promise.isResolved()) { return; }
+
+        // Counted as running before claiming an attempt, so the last failing attempt cannot miss one still starting.
+        running.incrementAndGet();
+
+        int attempt;
+        do {
+            attempt = started.get();
+            if (attempt >= maxAttempts) {
+                release();
+                return;
+            }
+        } while (!started.compareAndSet(attempt, attempt + 1));
+
+        if (attempt > 0 && PromiseMetrics.ENABLED) { PromiseMetrics.hedgeFired(); }
+
+        Promise<T> next;
+        try {
+            next = operation.apply();
+        } catch (RuntimeException e) {
+            next = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        attempts.add(next);
+        if (promise.isResolved()) { next.cancel(); }
+
+        if (attempt + 1 < maxAttempts) { timer = AsyncExecutor.INSTANCE.schedule(delay, this::launch); }
+
+        var hedged = attempt > 0;
+        next.onResult(result -> complete(hedged, result));
+    }
+
+    private void complete(boolean hedged, @NotNull Result<T> result) {
+        if (!(result instanceof Result.Failure<T>(var cause))) {
+            if (!promise.isResolved()) {
+                promise.resolve(result);
+                if (hedged && PromiseMetrics.ENABLED) { PromiseMetrics.hedgeWon(); }
+            }
+            return;
+        }
+
+        lastCause = cause;
+
+        // A failed attempt starts the next one right away instead of waiting for the hedge delay.
+        if (!promise.isResolved() && started.get() < maxAttempts) {
+            var pending = timer;
+            if (pending != null) { pending.cancel(); }
+            launch();
+        }
+
+        release();
+    }
+
+    private void release() {
+        if (running.decrementAndGet() == 0 && started.get() >= maxAttempts) { promise.failure(lastCause); }
+    }
+
+    private void stop() {
+        var pending = timer;
+        if (pending != null) { pending.cancel(); }
+
+        Promise<T> attempt;
+        while ((attempt = attempts.poll()) != null) { attempt.cancel(); }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Runs tasks for the same key one after another in submission order, while tasks for different keys run in
+ * parallel. A task starts once the previous task for its key has finished, or was skipped because it was cancelled
+ * while waiting.
+ * <p>
+ * The queue of a key is an implicit chain of internal completion promises, kept apart from the promises handed to
+ * callers so that cancelling a waiting task cannot release its successor early. Only the last completion promise
+ * per key is stored, and each new task swaps itself in and waits on its predecessor. The entry is removed once the
+ * last task of the key has finished, so idle keys take no memory and no thread is ever held per key.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class KeyedExecutor<K> {
+    private final Executor executor;
+    private final ConcurrentMap<K, Promise<Unit>> tails = new ConcurrentHashMap<>();
+
+    @Contract(pure = true)
+    private KeyedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Contract(" -> new")
+    public static <K> @NotNull KeyedExecutor<K> keyed() {
+        return new KeyedExecutor<>(AsyncExecutor.INSTANCE.executor());
+    }
+
+    @Contract("_ -> new")
+    public static <K> @NotNull KeyedExecutor<K> keyed(@NotNull Executor executor) {
+        return new KeyedExecutor<>(executor);
+    }
+
+    // ----- Submitting Methods -----
+
+    public <R> @NotNull Promise<R> submit(@NotNull K key, Consumer<Promise<R>> task) {
+        return enqueue(key, promise -> {
+            task.accept(promise);
+            return promise;
+        });
+    }
+
+    public <R> @NotNull Promise<R> submit(@NotNull K key, Function0<Promise<R>> task) {
+        return enqueue(key, promise -> {
+            Promise<R> inner;
+            try {
+                inner = task.apply();
+            } catch (RuntimeException e) {
+                inner = Promise.failed(Causes.fromThrowable(e));
+            }
+
+            var current = inner;
+            promise.onResultDo(current::cancel);
+            current.onResult(promise::resolve);
+            return current;
+        });
+    }
+
+    // ----- State Methods -----
+
+    /** Number of keys with a task running or waiting. */
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    // ----- Internal Methods -----
+
+    // The task returns the promise whose resolution marks it as finished.
+    private <R> @NotNull Promise<R> enqueue(@NotNull K key, Function1<Promise<?>, Promise<R>> task) {
+        var promise = Promise.<R>promise();
+        var done = Promise.<Unit>promise();
+        var previous = tails.put(key, done);
+
+        done.onResultDo(() -> tails.remove(key, done));
+
+        if (previous == null) {
+            start(promise, done, task);
+        } else {
+            previous.onResultDo(() -> start(promise, done, task));
+        }
+
+        return promise;
+    }
+
+    private <R> void start(@NotNull Promise<R> promise, @NotNull Promise<Unit> done, Function1<Promise<?>, Promise<R>> task) {
+        // Tasks cancelled while waiting for their predecessor are skipped.
+        if (promise.isResolved()) {
+            done.success(Unit.unit());
+            return;
+        }
+
+        promise.async(executor, pending -> {
+            if (pending.isResolved()) {
+                done.success(Unit.unit());
+                return;
+            }
+
+            Promise<?> work;
+            try {
+                work = task.apply(pending);
+            } catch (RuntimeException e) {
+                work = pending.failure(Causes.fromThrowable(e));
+            }
+
+            work.onResultDo(() -> done.success(Unit.unit()));
+        });
+    }
+}
@@ -4,6 +4,7 @@ import io.github.akjo03.lib.functional.Cause;
 import io.github.akjo03.lib.functional.Functions;
 import io.github.akjo03.lib.functional.Result;
 import io.github.akjo03.lib.functional.Tuple;
+import io.github.akjo03.lib.functional.Unit;
 import io.github.akjo03.lib.io.OperationException;
 import io.github.akjo03.lib.io.Timeout;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +13,16 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 import static io.github.akjo03.lib.functional.util.ActionableThreshold.threshold;
@@ -47,13 +57,41 @@ public interface Promise<T> {
     // ----- Promise Implementation -----
 
     @SuppressWarnings({"java:S1117", "java:S3077"})
-    final class PromiseImpl<T> implements Promise<T> {
+    sealed class PromiseImpl<T> implements Promise<T> permits PromiseImpl.Tracked {
+        /**
+         * Promise produced by work submitted to the async executor. Kept as a subclass so that the tracking field
+         * does not add to the size of every other promise.
+         */
+        static final class Tracked<T> extends PromiseImpl<T> {
+            // Lifecycle of the async executor tracking the work, released once the promise settles.
+            private AsyncExecutor.Lifecycle lifecycle;
+
+            private Tracked() {
+                super(null);
+            }
+
+            void track(AsyncExecutor.Lifecycle lifecycle) {
+                this.lifecycle = lifecycle;
+            }
+        }
+
+        @Contract(" -> new")
+        static <T> @NotNull PromiseImpl<T> pending() {
+            return new PromiseImpl<>(null);
+        }
+
         @RequiredArgsConstructor
-        private static class CompletionAction<T> {
+        private abstract static class CompletionAction<T> {
             private volatile CompletionAction<T> next;
-            private final Consumer<Result<T>> action;
             private final PromiseImpl<?> dependency;
 
+            abstract void accept(Result<T> result);
+
+            @SuppressWarnings("unchecked")
+            <U> PromiseImpl<U> dependent() {
+                return (PromiseImpl<U>) dependency;
+            }
+
             @Override
             @SuppressWarnings("java:S3358")
             public @NotNull String toString() {
@@ -63,70 +101,350 @@ public interface Promise<T> {
             }
         }
 
+        private static final class ListenerAction<T> extends CompletionAction<T> {
+            private final Consumer<Result<T>> action;
+
+            private ListenerAction(Consumer<Result<T>> action) {
+                super(null);
+                this.action = action;
+            }
+
+            @Override
+            void accept(Result<T> result) {
+                action.accept(result);
+            }
+        }
+
+        // Transformation stages are their own list nodes, so map, mapFailure and flatMap on an unresolved
+        // promise allocate the dependent promise and a single node instead of an extra capturing lambda.
+
+        private static final class MapAction<T, U> extends CompletionAction<T> {
+            private final Cause cause;
+            private final Function1<U, ? super T> mapper;
+
+            private MapAction(PromiseImpl<U> promise, Cause cause, Function1<U, ? super T> mapper) {
+                super(promise);
+                this.cause = cause;
+                this.mapper = mapper;
+            }
+
+            @Override
+            void accept(Result<T> result) {
+                var promise = this.<U>dependent();
+                if (!promise.isResolved()) { promise.resolveFused(cause == null ? result.map(mapper) : result.map(cause, mapper)); }
+            }
+        }
+
+        private static final class MapFailureAction<T> extends CompletionAction<T> {
+            private final Function1<Cause, Cause> mapper;
+
+            private MapFailureAction(PromiseImpl<T> promise, Function1<Cause, Cause> mapper) {
+                super(promise);
+                this.mapper = mapper;
+            }
+
+            @Override
+            void accept(Result<T> result) {
+                var promise = this.<T>dependent();
+                if (!promise.isResolved()) { promise.resolveFused(result.mapFailure(mapper)); }
+            }
+        }
+
+        private static final class FlatMapAction<T, U> extends CompletionAction<T> {
+            private final Function1<Promise<U>, ? super T> mapper;
+
+            private FlatMapAction(PromiseImpl<U> promise, Function1<Promise<U>, ? super T> mapper) {
+                super(promise);
+                this.mapper = mapper;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            void accept(Result<T> result) {
+                var promise = this.<U>dependent();
+                if (!promise.isResolved()) { promise.follow(result.fold(__ -> Promise.resolved((Result<U>) result), mapper)); }
+            }
+        }
+
+        /** Per-thread queue of promises resolved by fused stages, drained by the outermost completion. */
+        private static final class Trampoline {
+            private final ArrayDeque<PromiseImpl<?>> queue = new ArrayDeque<>();
+            private boolean active;
+        }
+
+        @RequiredArgsConstructor
+        private static class Waiter {
+            private volatile Thread thread;
+            private final Waiter next;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private static final CompletionAction NOP = new ListenerAction<>(Functions::unit);
         @SuppressWarnings("rawtypes")
-        private static final CompletionAction NOP = new CompletionAction<>(Functions::unit, null);
+        private static final CompletionAction DONE = new ListenerAction<>(Functions::unit);
+        private static final Waiter RELEASED = new Waiter(null);
+        @SuppressWarnings("rawtypes")
+        private static final Result CANCELLED = OperationException.CANCELLED.result();
+        private static final Object INTERRUPTING = new Object();
+
+        private static final int MAX_INLINE_DEPTH = 64;
+        private static final ThreadLocal<int[]> inlineDepth = ThreadLocal.withInitial(() -> new int[1]);
+        private static final ThreadLocal<Trampoline> trampoline = ThreadLocal.withInitial(Trampoline::new);
 
-        @SuppressWarnings({"unchecked", "java:S1170"})
-        private final CompletionAction<T> head = NOP;
+        // Either NOP, DONE, a single listener stored inline without a node, or the top CompletionAction of the stack.
+        private volatile Object head = NOP;
         private volatile CompletionAction<T> processed;
-        private final Result<T> value;
+        private volatile Result<T> value;
+        private volatile Waiter waiters;
+        private volatile PromiseImpl<?> upstream;
+        private volatile int dependents;
+        private volatile Object runner;
+        private final long createdAt;
 
         private static final VarHandle headHandle;
         private static final VarHandle valueHandle;
+        private static final VarHandle waitersHandle;
+        private static final VarHandle upstreamHandle;
+        private static final VarHandle dependentsHandle;
+        private static final VarHandle runnerHandle;
 
         static {
             try {
                 final var lookup = MethodHandles.lookup();
-                headHandle = lookup.findVarHandle(PromiseImpl.class, "head", CompletionAction.class);
+                headHandle = lookup.findVarHandle(PromiseImpl.class, "head", Object.class);
                 valueHandle = lookup.findVarHandle(PromiseImpl.class, "value", Result.class);
+                waitersHandle = lookup.findVarHandle(PromiseImpl.class, "waiters", Waiter.class);
+                upstreamHandle = lookup.findVarHandle(PromiseImpl.class, "upstream", PromiseImpl.class);
+                dependentsHandle = lookup.findVarHandle(PromiseImpl.class, "dependents", int.class);
+                runnerHandle = lookup.findVarHandle(PromiseImpl.class, "runner", Object.class);
             } catch (final ReflectiveOperationException e) {
                 throw new ExceptionInInitializerError(e);
             }
         }
 
         @Contract(pure = true)
+        @SuppressWarnings("unchecked")
         private PromiseImpl(Result<T> value) {
             this.value = value;
-            this.processed = value == null ? null : this.head;
+
+            if (value != null) {
+                this.head = DONE;
+                this.processed = NOP;
+                this.waiters = RELEASED;
+                this.createdAt = 0;
+            } else {
+                this.createdAt = PromiseMetrics.ENABLED || new PromiseEvents.Resolved().isEnabled() ? System.nanoTime() : 0;
+
+                if (PromiseMetrics.ENABLED) { PromiseMetrics.promiseCreated(); }
+                new PromiseEvents.Created().commit();
+            }
         }
 
         // ----- General Methods -----
 
-        @SuppressWarnings("unchecked")
         private void complete(Result<T> result) {
+            var fused = trampoline.get();
+
+            if (fused.active) {
+                runListeners(result);
+                return;
+            }
+
+            fused.active = true;
+            try {
+                runListeners(result);
+
+                PromiseImpl<?> next;
+                while ((next = fused.queue.poll()) != null) { next.completeFused(); }
+            } finally {
+                fused.active = false;
+
+                PromiseImpl<?> next;
+                while ((next = fused.queue.poll()) != null) { next.dispatch(); }
+            }
+        }
+
+        private void completeFused() {
+            runListeners(value);
+        }
+
+        private void dispatch() {
+            AsyncExecutor.INSTANCE.dispatch(() -> complete(value));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void runListeners(Result<T> result) {
             CompletionAction<T> processed = NOP;
-            CompletionAction<T> head;
+            var taken = headHandle.getAndSet(this, DONE);
+            var count = 0;
+
+            if (taken != NOP && !(taken instanceof CompletionAction)) {
+                count++;
+                runListener((Consumer<Result<T>>) taken, result);
+            }
 
-            while ((head = swapHead()) != null) {
-                while (head != null) {
-                    head.action.accept(result);
-                    var current = head;
-                    head = head.next;
+            CompletionAction<T> head = taken instanceof CompletionAction<?> action ? reverse((CompletionAction<T>) action) : null;
 
-                    if (current.dependency != null) {
-                        current.next = processed;
-                        processed = current;
-                    }
+            while (head != null) {
+                count++;
+
+                var event = new PromiseEvents.Listener();
+                event.begin();
+
+                try {
+                    head.accept(result);
+                } catch (RuntimeException e) {
+                    var thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+
+                if (event.shouldCommit()) {
+                    event.dependent = head.dependency != null;
+                    event.commit();
+                }
+
+                var current = head;
+                head = head.next;
+
+                if (current.dependency != null) {
+                    current.next = processed;
+                    processed = current;
                 }
             }
+
             this.processed = processed;
+            releaseWaiters();
+
+            if (PromiseMetrics.ENABLED) { PromiseMetrics.listenersRun(count); }
+        }
+
+        private static <T> void runListener(@NotNull Consumer<Result<T>> listener, Result<T> result) {
+            var event = new PromiseEvents.Listener();
+            event.begin();
+
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+
+            event.commit();
         }
 
-        private void push(@NotNull CompletionAction<T> newHead) {
-            CompletionAction<T> oldHead;
+        @SuppressWarnings("unchecked")
+        private void push(@NotNull Object entry) {
+            Object oldHead;
+            Object newHead;
+
             do {
                 oldHead = head;
-                newHead.next = oldHead;
+
+                if (oldHead == DONE) {
+                    if (entry instanceof CompletionAction<?> action) {
+                        ((CompletionAction<T>) action).accept(value);
+                    } else {
+                        ((Consumer<Result<T>>) entry).accept(value);
+                    }
+                    return;
+                }
+
+                if (oldHead == NOP && !(entry instanceof CompletionAction)) {
+                    newHead = entry;
+                } else {
+                    var node = entry instanceof CompletionAction<?> action
+                            ? (CompletionAction<T>) action
+                            : new ListenerAction<>((Consumer<Result<T>>) entry);
+                    node.next = oldHead instanceof CompletionAction<?> action
+                            ? (CompletionAction<T>) action
+                            : inlineNode(oldHead);
+                    newHead = node;
+                }
             } while (!headHandle.compareAndSet(this, oldHead, newHead));
         }
 
-        private CompletionAction<T> swapHead() {
-            CompletionAction<T> head;
+        @SuppressWarnings("unchecked")
+        private CompletionAction<T> inlineNode(Object listener) {
+            if (listener == NOP) { return NOP; }
+
+            CompletionAction<T> node = new ListenerAction<>((Consumer<Result<T>>) listener);
+            node.next = NOP;
+            return node;
+        }
+
+        /**
+         * Resolves the promise and runs its listeners on the calling thread regardless of the completion mode, for
+         * bridges whose source already completes on an executor. Deep chains still fall back to a dispatch.
+         */
+        boolean resolveInline(Result<T> result) {
+            if (!settle(result)) { return false; }
 
-            do {
-                head = this.head;
-            } while (!headHandle.compareAndSet(this, head, NOP));
+            completeInline(result);
+            return true;
+        }
+
+        private boolean tryResolve(Result<T> result) {
+            if (!settle(result)) { return false; }
+
+            if (AsyncExecutor.INSTANCE.completionMode() == CompletionMode.INLINE) {
+                completeInline(result);
+            } else {
+                AsyncExecutor.INSTANCE.dispatch(() -> complete(result));
+            }
+
+            return true;
+        }
+
+        /**
+         * Resolves a dependent stage from within a completion. Instead of dispatching a new task per stage,
+         * the promise is queued on the current thread and completed by the outermost completion loop, so a
+         * chain of map stages runs as one task without growing the stack.
+         */
+        private void resolveFused(Result<T> result) {
+            var fused = trampoline.get();
+
+            if (!fused.active) {
+                tryResolve(result);
+                return;
+            }
+
+            if (settle(result)) { fused.queue.add(this); }
+        }
+
+        private boolean settle(Result<T> result) {
+            if (!valueHandle.compareAndSet(this, null, result)) { return false; }
 
+            if (this instanceof Tracked<T> tracked && tracked.lifecycle != null) { tracked.lifecycle.settled(this); }
+
+            if (PromiseMetrics.ENABLED) { PromiseMetrics.promiseResolved(result, System.nanoTime() - createdAt); }
+
+            var event = new PromiseEvents.Resolved();
+            if (event.shouldCommit()) {
+                event.latency = createdAt == 0 ? 0 : System.nanoTime() - createdAt;
+                event.success = result.isSuccess();
+                event.commit();
+            }
+
+            return true;
+        }
+
+        private void completeInline(Result<T> result) {
+            var depth = inlineDepth.get();
+
+            if (depth[0] >= MAX_INLINE_DEPTH) {
+                AsyncExecutor.INSTANCE.dispatch(() -> complete(result));
+                return;
+            }
+
+            depth[0]++;
+            try {
+                complete(result);
+            } finally {
+                depth[0]--;
+            }
+        }
+
+        private static <T> CompletionAction<T> reverse(CompletionAction<T> head) {
             CompletionAction<T> current = head;
             CompletionAction<T> previous = null;
             CompletionAction<T> next;
@@ -141,76 +459,201 @@ public interface Promise<T> {
             return previous;
         }
 
-        private Result<T> join(long delayNanos) {
-            var start = System.nanoTime();
+        // ----- Cancellation Methods -----
 
-            CompletionAction<T> action;
+        private void run(Consumer<Promise<T>> task) {
+            var thread = Thread.currentThread();
+            var tracking = this instanceof Tracked<T> tracked ? tracked.lifecycle : null;
+
+            if (tracking != null && tracking.skip(this)) { return; }
+            if (value != null || !runnerHandle.compareAndSet(this, null, thread)) { return; }
+
+            try {
+                if (value == null) { task.accept(this); }
+            } finally {
+                if (!runnerHandle.compareAndSet(this, thread, null)) {
+                    while (runner == INTERRUPTING) { Thread.onSpinWait(); }
+                    Thread.interrupted();
+                }
 
-            while ((action = processed) == null) {
-                Thread.onSpinWait();
+                if (tracking != null) { tracking.ran(this); }
+            }
+        }
 
-                if (System.nanoTime() - start > delayNanos) {
-                    return OperationException.TIMEOUT.result();
+        private void interruptRunner() {
+            if (runner instanceof Thread thread && runnerHandle.compareAndSet(this, thread, INTERRUPTING)) {
+                try {
+                    thread.interrupt();
+                } finally {
+                    runner = null;
                 }
             }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean tryCancel() {
+            return tryAbort((Result<T>) CANCELLED);
+        }
+
+        private boolean tryAbort(Result<T> result) {
+            if (!tryResolve(result)) { return false; }
+
+            interruptRunner();
+            return true;
+        }
+
+        /** Resolves the promise the way {@link #cancel()} does, interrupting the runner and releasing the upstream. */
+        private void abort(Result<T> result) {
+            if (tryAbort(result)) { detach(); }
+        }
+
+        private void attach(@NotNull PromiseImpl<?> upstream) {
+            dependentsHandle.getAndAdd(upstream, 1);
+            this.upstream = upstream;
+
+            if (value == CANCELLED) { detach(); }
+        }
 
-            while (action != NOP) {
-                var currentNanoTime = System.nanoTime();
+        private void follow(@NotNull Promise<T> promise) {
+            if (promise instanceof PromiseImpl<T> impl && !impl.isResolved()) { attach(impl); }
 
-                if (currentNanoTime - start > delayNanos) {
-                    return OperationException.TIMEOUT.result();
+            promise.onResult(this::resolve);
+        }
+
+        private void detach() {
+            PromiseImpl<?> current = this;
+
+            while (current != null) {
+                var parent = (PromiseImpl<?>) upstreamHandle.getAndSet(current, null);
+
+                if (parent == null
+                        || (int) dependentsHandle.getAndAdd(parent, -1) != 1
+                        || !parent.tryCancel()) {
+                    return;
                 }
 
-                action.dependency.join(currentNanoTime - start);
-                action = action.next;
+                current = parent;
             }
+        }
 
-            return value;
+        // ----- Waiting Methods -----
+
+        private Waiter enqueueWaiter() {
+            Waiter oldWaiters;
+            Waiter waiter;
+
+            do {
+                oldWaiters = waiters;
+
+                if (oldWaiters == RELEASED) { return null; }
+
+                waiter = new Waiter(oldWaiters);
+                waiter.thread = Thread.currentThread();
+            } while (!waitersHandle.compareAndSet(this, oldWaiters, waiter));
+
+            return waiter;
         }
 
-        // ----- Consuming Methods (Blocking) -----
+        private void releaseWaiters() {
+            var waiter = (Waiter) waitersHandle.getAndSet(this, RELEASED);
 
-        @Override
-        public Result<T> join() {
+            while (waiter != null && waiter != RELEASED) {
+                var thread = waiter.thread;
+
+                if (thread != null) {
+                    waiter.thread = null;
+                    LockSupport.unpark(thread);
+                }
+
+                waiter = waiter.next;
+            }
+        }
+
+        private CompletionAction<T> awaitProcessed(long deadlineNanos, boolean timed) {
             CompletionAction<T> action;
 
-            while ((action = processed) == null) {
-                Thread.onSpinWait();
-                Thread.yield();
+            if ((action = processed) != null) { return action; }
+
+            var waiter = enqueueWaiter();
+            var interrupted = false;
+
+            while ((action = processed) == null && waiter != null) {
+                if (timed) {
+                    var remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) { break; }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+
+                if (Thread.interrupted()) { interrupted = true; }
             }
 
-            while (action != NOP) {
-                action.dependency.join();
-                action = action.next;
+            if (waiter != null) { waiter.thread = null; }
+            if (interrupted) { Thread.currentThread().interrupt(); }
+
+            return action != null ? action : processed;
+        }
+
+        /**
+         * Waits until this promise and, transitively, every dependent stage created from it are processed.
+         * Each dependent promise is created by exactly one stage, so the dependencies form a tree and the
+         * walk reaches every promise once. It uses an explicit work list instead of recursion to stay
+         * stack-safe on arbitrarily deep chains.
+         */
+        private Result<T> join(long deadlineNanos, boolean timed) {
+            var action = awaitProcessed(deadlineNanos, timed);
+
+            if (action == null) { return null; }
+            if (action == NOP) { return value; }
+
+            var pending = new ArrayDeque<CompletionAction<?>>();
+            pending.push(action);
+
+            while (!pending.isEmpty()) {
+                var current = pending.pop();
+
+                if (current.next != NOP) { pending.push(current.next); }
+
+                var dependency = current.dependency.awaitProcessed(deadlineNanos, timed);
+
+                if (dependency == null) { return null; }
+                if (dependency != NOP) { pending.push(dependency); }
             }
 
             return value;
         }
 
+        // ----- Consuming Methods (Blocking) -----
+
+        @Override
+        public Result<T> join() {
+            return join(0, false);
+        }
+
         @Override
         public Result<T> join(@NotNull Timeout timeout) {
-            return join(timeout.nanoseconds());
+            var result = join(System.nanoTime() + timeout.nanoseconds(), true);
+            return result == null ? OperationException.TIMEOUT.result() : result;
         }
 
         // ----- Consuming Methods (Non-Blocking) -----
 
-        @Contract("_ -> this")
+        @Contract("_, _ -> this")
         @Override
-        public Promise<T> async(Consumer<Promise<T>> action) {
-            runAsync(() -> action.accept(this));
+        public Promise<T> async(Executor executor, Consumer<Promise<T>> action) {
+            // Work on an existing promise continues it, so it still runs if the executor is closing.
+            Runnable task = () -> action.accept(this);
+            if (AsyncExecutor.INSTANCE.isClosing() || !AsyncExecutor.INSTANCE.submit(executor, null, task)) {
+                AsyncExecutor.INSTANCE.dispatch(executor, task);
+            }
             return this;
         }
 
-        @Contract("_, _ -> this")
+        @Contract("_, _, _ -> this")
         @Override
-        @SuppressWarnings({"java:S2142", "java:S108"})
-        public Promise<T> async(Timeout timeout, Consumer<Promise<T>> action) {
-            runAsync(() -> {
-                try {
-                    Thread.sleep(timeout.duration());
-                } catch (InterruptedException ignored) {}
-                action.accept(this);
-            });
+        public Promise<T> async(Executor executor, Timeout timeout, Consumer<Promise<T>> action) {
+            AsyncExecutor.INSTANCE.schedule(executor, timeout, () -> action.accept(this));
             return this;
         }
 
@@ -220,7 +663,7 @@ public interface Promise<T> {
             if (value != null) {
                 action.accept(value);
             } else {
-                push(new CompletionAction<>(action, null));
+                push(action);
             }
 
             return this;
@@ -231,10 +674,14 @@ public interface Promise<T> {
         @Contract("_ -> this")
         @Override
         public Promise<T> resolve(Result<T> result) {
-            if (valueHandle.compareAndSet(this, null, value)) {
-                runAsync(() -> complete(result));
-            }
+            tryResolve(result);
+            return this;
+        }
 
+        @Contract(" -> this")
+        @Override
+        public Promise<T> cancel() {
+            if (tryCancel()) { detach(); }
             return this;
         }
 
@@ -245,8 +692,9 @@ public interface Promise<T> {
             if (value != null) { return new PromiseImpl<>(value.map(mapper)); }
 
             var promise = new PromiseImpl<U>(null);
+            promise.attach(this);
 
-            push(new CompletionAction<>(result -> promise.resolve(result.map(mapper)), promise));
+            push(new MapAction<>(promise, null, mapper));
 
             return promise;
         }
@@ -256,8 +704,9 @@ public interface Promise<T> {
             if (value != null) { return new PromiseImpl<>(value.map(cause, mapper)); }
 
             var promise = new PromiseImpl<U>(null);
+            promise.attach(this);
 
-            push(new CompletionAction<>(result -> promise.resolve(result.map(cause, mapper)), promise));
+            push(new MapAction<>(promise, cause, mapper));
 
             return promise;
         }
@@ -268,12 +717,9 @@ public interface Promise<T> {
             if (value != null) { return value.fold(__ -> new PromiseImpl<>((Result<U>) value), mapper); }
 
             var result = new PromiseImpl<U>(null);
-            push(new CompletionAction<>(
-                    value -> value.fold(__ -> result
-                            .resolve((Result<U>) value), mapper)
-                            .onResult(result::resolve),
-                    result
-            ));
+            result.attach(this);
+
+            push(new FlatMapAction<>(result, mapper));
             return result;
         }
 
@@ -282,8 +728,9 @@ public interface Promise<T> {
             if (value != null) { return new PromiseImpl<>(value.mapFailure(mapper)); }
 
             var promise = new PromiseImpl<T>(null);
+            promise.attach(this);
 
-            push(new CompletionAction<>(result -> promise.resolve(result.mapFailure(mapper)), promise));
+            push(new MapFailureAction<>(promise, mapper));
 
             return promise;
         }
@@ -311,8 +758,13 @@ public interface Promise<T> {
     }
 
     static <R> @NotNull Promise<R> promise(Consumer<Promise<R>> consumer) {
-        var promise = Promise.<R>promise();
-        runAsync(() -> consumer.accept(promise));
+        return promise(AsyncExecutor.INSTANCE.executor(), consumer);
+    }
+
+    static <R> @NotNull Promise<R> promise(Executor executor, Consumer<Promise<R>> consumer) {
+        var tracked = new PromiseImpl.Tracked<R>();
+        PromiseImpl<R> promise = tracked;
+        AsyncExecutor.INSTANCE.submit(executor, tracked, () -> promise.run(consumer));
         return promise;
     }
 
@@ -331,11 +783,27 @@ public interface Promise<T> {
         return resolved(cause.result());
     }
 
+    /**
+     * Adapts a {@link CompletionStage}, resolving on the thread that completes the stage. Cancelling the returned
+     * promise cancels the stage if it is a {@link java.util.concurrent.Future}.
+     */
+    @Contract("_ -> new")
+    static <R> @NotNull Promise<R> fromStage(@NotNull CompletionStage<R> stage) {
+        return StageAdapters.fromStage(stage);
+    }
+
     // ----- Complex Creational Methods -----
 
     @SafeVarargs
+    @SuppressWarnings("varargs")
     static <R> @NotNull Promise<R> any(Promise<R>... promises) {
-        return Promise.promise(result -> List.of(
+        return any(AsyncExecutor.INSTANCE.executor(), promises);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <R> @NotNull Promise<R> any(Executor executor, Promise<R>... promises) {
+        return Promise.promise(executor, result -> List.of(
                 promises
         ).forEach(promise -> promise
                 .onResult(result::resolve)
@@ -344,20 +812,23 @@ public interface Promise<T> {
     }
 
     @SafeVarargs
+    @SuppressWarnings("varargs")
     static <T> @NotNull Promise<T> anySuccess(Result<T> failureResult, Promise<T>... promises) {
-        return Promise.promise(anySuccess ->
-                threshold(promises.length, () -> anySuccess.resolve(failureResult))
-                        .apply(at -> List.of(promises).forEach(promise -> promise
-                                .onResult(result -> result
-                                        .onSuccess(anySuccess::success)
-                                        .onSuccessDo(() -> cancelAll(promises))
-                                ).onResultDo(at::registerEvent)
-                        ))
-        );
+        return anySuccess(AsyncExecutor.INSTANCE.executor(), failureResult, List.of(promises));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> @NotNull Promise<T> anySuccess(Executor executor, Result<T> failureResult, Promise<T>... promises) {
+        return anySuccess(executor, failureResult, List.of(promises));
     }
 
     static <T> @NotNull Promise<T> anySuccess(Result<T> failureResult, List<Promise<T>> promises) {
-        return Promise.promise(anySuccess ->
+        return anySuccess(AsyncExecutor.INSTANCE.executor(), failureResult, promises);
+    }
+
+    static <T> @NotNull Promise<T> anySuccess(Executor executor, Result<T> failureResult, List<Promise<T>> promises) {
+        return Promise.promise(executor, anySuccess ->
                 threshold(promises.size(), () -> anySuccess.resolve(failureResult))
                         .apply(at -> promises.forEach(promise -> promise
                                 .onResult(result -> result
@@ -369,20 +840,111 @@ public interface Promise<T> {
     }
 
     @SafeVarargs
+    @SuppressWarnings("varargs")
     static <T> @NotNull Promise<T> anySuccess(Promise<T>... promises) {
         return anySuccess(OperationException.CANCELLED.result(), promises);
     }
 
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> @NotNull Promise<T> anySuccess(Executor executor, Promise<T>... promises) {
+        return anySuccess(executor, OperationException.CANCELLED.result(), promises);
+    }
+
     static <T> @NotNull Promise<T> anySuccess(List<Promise<T>> promises) {
         return anySuccess(OperationException.CANCELLED.result(), promises);
     }
 
+    static <T> @NotNull Promise<T> anySuccess(Executor executor, List<Promise<T>> promises) {
+        return anySuccess(executor, OperationException.CANCELLED.result(), promises);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> @NotNull Promise<List<T>> allOf(Promise<T>... promises) {
+        return allOf(List.of(promises));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull Promise<List<T>> allOf(@NotNull List<Promise<T>> promises) {
+        if (promises.isEmpty()) { return successful(List.of()); }
+
+        var promise = Promise.<List<T>>promise();
+        var values = new Object[promises.size()];
+        var remaining = new AtomicInteger(values.length);
+
+        int count = 0;
+        for (var currentPromise : promises) {
+            final var index = count++;
+            currentPromise.onResult(result -> result.accept(
+                    cause -> {
+                        if (remaining.getAndSet(0) > 0) {
+                            promise.failure(cause);
+                            cancelAll(promises);
+                        }
+                    },
+                    value -> {
+                        values[index] = value;
+                        if (remaining.decrementAndGet() == 0) {
+                            promise.success((List<T>) Collections.unmodifiableList(Arrays.asList(values)));
+                        }
+                    }
+            ));
+        }
+
+        return promise;
+    }
+
+    static <T, R> @NotNull Promise<List<R>> traverse(
+            @NotNull Iterable<T> inputs,
+            Function1<Promise<R>, T> mapper,
+            int maxInFlight
+    ) {
+        var results = new ArrayList<R>();
+
+        return new Traversal<T, R>(inputs.iterator(), mapper, maxInFlight, false, (index, value) -> {
+            while (results.size() <= index) { results.add(null); }
+            results.set(index, value);
+        }).start().map(() -> results);
+    }
+
+    static <T, R> @NotNull Promise<Unit> traverseOrdered(
+            @NotNull Iterable<T> inputs,
+            Function1<Promise<R>, T> mapper,
+            int maxInFlight,
+            Consumer<R> consumer
+    ) { return new Traversal<T, R>(inputs.iterator(), mapper, maxInFlight, true, (index, value) -> consumer.accept(value)).start(); }
+
+    static <T, R> @NotNull Promise<Unit> traverseUnordered(
+            @NotNull Iterable<T> inputs,
+            Function1<Promise<R>, T> mapper,
+            int maxInFlight,
+            Consumer<R> consumer
+    ) { return new Traversal<T, R>(inputs.iterator(), mapper, maxInFlight, false, (index, value) -> consumer.accept(value)).start(); }
+
+    static <T> @NotNull Promise<T> retry(@NotNull RetryPolicy policy, Function0<Promise<T>> operation) {
+        return new Retry<>(policy, operation).start();
+    }
+
+    /**
+     * Starts the operation and, each time the given delay passes without a result, starts a backup attempt, up to
+     * the given number of attempts in total. A failed attempt starts the next one right away. Resolves with the
+     * first success, cancelling the remaining attempts, or with the last failure once every attempt has failed.
+     */
+    static <T> @NotNull Promise<T> hedge(Function0<Promise<T>> operation, @NotNull Timeout delay, int maxAttempts) {
+        return new Hedge<>(operation, delay, maxAttempts).start();
+    }
+
     // ----- General Methods -----
 
     static void runAsync(Runnable runnable) {
         AsyncExecutor.INSTANCE.runAsync(runnable);
     }
 
+    static void runAsync(Executor executor, Runnable runnable) {
+        AsyncExecutor.INSTANCE.runAsync(executor, runnable);
+    }
+
     private static <R> @NotNull Promise<R> setup(VariableFunction<R> transformer, Promise<?>@NotNull... promises) {
         var promise = Promise.<R>promise();
 
@@ -409,12 +971,36 @@ public interface Promise<T> {
 
     // ----- Consuming Methods (Non-Blocking) -----
 
-    Promise<T> async(Consumer<Promise<T>> action);
+    default Promise<T> async(Consumer<Promise<T>> action) {
+        return async(AsyncExecutor.INSTANCE.executor(), action);
+    }
+
+    Promise<T> async(Executor executor, Consumer<Promise<T>> action);
+
+    default Promise<T> async(Timeout timeout, Consumer<Promise<T>> action) {
+        return async(AsyncExecutor.INSTANCE.executor(), timeout, action);
+    }
 
-    Promise<T> async(Timeout timeout, Consumer<Promise<T>> action);
+    Promise<T> async(Executor executor, Timeout timeout, Consumer<Promise<T>> action);
 
     Promise<T> onResult(Consumer<Result<T>> action);
 
+    default Promise<T> onResultAsync(Consumer<Result<T>> action) {
+        return onResultAsync(AsyncExecutor.INSTANCE.executor(), action);
+    }
+
+    default Promise<T> onResultAsync(Executor executor, Consumer<Result<T>> action) {
+        return onResult(result -> AsyncExecutor.INSTANCE.dispatch(executor, () -> action.accept(result)));
+    }
+
+    /**
+     * Returns a future completed by this promise. Failures complete it exceptionally with a
+     * {@link io.github.akjo03.lib.functional.CauseException}, and cancelling the future cancels this promise.
+     */
+    default CompletableFuture<T> toCompletableFuture() {
+        return StageAdapters.toCompletableFuture(this);
+    }
+
     default Promise<T> onResultDo(Runnable action) {
         return onResult(__ -> action.run());
     }
@@ -451,6 +1037,24 @@ public interface Promise<T> {
         return resolve(cause.result());
     }
 
+    default Promise<T> withTimeout(@NotNull Timeout timeout) {
+        return orElseAfter(timeout, OperationException.TIMEOUT.result());
+    }
+
+    default Promise<T> orElseAfter(@NotNull Timeout timeout, Result<T> result) {
+        if (isResolved()) { return this; }
+
+        var timer = AsyncExecutor.INSTANCE.schedule(timeout, () -> {
+            // The work behind a timed out promise is abandoned, so it is torn down like on a cancellation.
+            if (this instanceof PromiseImpl<T> impl) {
+                impl.abort(result);
+            } else {
+                resolve(result);
+            }
+        });
+        return onResultDo(timer::cancel);
+    }
+
     // ----- Static State Changing Methods -----
 
     static <T> void cancelAll(@NotNull List<Promise<T>> promises) {
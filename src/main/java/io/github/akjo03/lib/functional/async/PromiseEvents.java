@@ -0,0 +1,77 @@
+package io.github.akjo03.lib.functional.async;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.Contract;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Java Flight Recorder events for promise and executor hot paths. Creation and resolution events are disabled
+ * by default because they fire for every promise; stack traces are off unless enabled in the recording settings.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class PromiseEvents {
+    private static final String CATEGORY = "AkjoLib";
+
+    @Contract(pure = true)
+    private PromiseEvents() {}
+
+    @Name("io.github.akjo03.lib.PromiseCreated")
+    @Label("Promise Created")
+    @Category({CATEGORY, "Promise"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Created extends Event {}
+
+    @Name("io.github.akjo03.lib.PromiseResolved")
+    @Label("Promise Resolved")
+    @Category({CATEGORY, "Promise"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Resolved extends Event {
+        @Label("Latency")
+        @Description("Time from creation to resolution of the promise")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("io.github.akjo03.lib.PromiseListener")
+    @Label("Promise Listener")
+    @Description("Execution of a listener attached to a resolved promise")
+    @Category({CATEGORY, "Promise"})
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static final class Listener extends Event {
+        @Label("Dependent")
+        @Description("Whether the listener resolves a dependent promise (map, flatMap, ...)")
+        boolean dependent;
+    }
+
+    @Name("io.github.akjo03.lib.AsyncTaskDelay")
+    @Label("Async Task Delay")
+    @Description("Time between submitting a task to the AsyncExecutor and the task starting to run")
+    @Category({CATEGORY, "Executor"})
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static final class TaskDelay extends Event {
+        @Label("Executor")
+        String executor;
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Opt-in promise and executor instrumentation, enabled by starting the JVM with {@code -Dakjolib.metrics=true}.
+ * The flag is a static constant, so when disabled the JIT folds every instrumentation branch away.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class PromiseMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("akjolib.metrics");
+
+    private static final LongAdder created = new LongAdder();
+    private static final LongAdder resolved = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder listeners = new LongAdder();
+    private static final LongAdder tasks = new LongAdder();
+    private static final LongAdder hedgesFired = new LongAdder();
+    private static final LongAdder hedgesWon = new LongAdder();
+    private static final Histogram resolutionLatency = new Histogram();
+    private static final Histogram queueDelay = new Histogram();
+
+    @Contract(pure = true)
+    private PromiseMetrics() {}
+
+    // ----- Recording Methods -----
+
+    static void promiseCreated() {
+        created.increment();
+    }
+
+    static void promiseResolved(@NotNull Result<?> result, long latencyNanos) {
+        resolved.increment();
+        if (result.isFailure()) { failed.increment(); }
+        resolutionLatency.record(latencyNanos);
+    }
+
+    static void listenersRun(int count) {
+        listeners.add(count);
+    }
+
+    static @NotNull Runnable taskSubmitted(@NotNull Runnable task) {
+        tasks.increment();
+
+        var submittedAt = System.nanoTime();
+        return () -> {
+            queueDelay.record(System.nanoTime() - submittedAt);
+            task.run();
+        };
+    }
+
+    static void hedgeFired() {
+        hedgesFired.increment();
+    }
+
+    static void hedgeWon() {
+        hedgesWon.increment();
+    }
+
+    // ----- Accessor Methods -----
+
+    /** Number of promises created unresolved. Promises created already resolved are not tracked. */
+    public static long createdCount() {
+        return created.sum();
+    }
+
+    public static long resolvedCount() {
+        return resolved.sum();
+    }
+
+    public static long failedCount() {
+        return failed.sum();
+    }
+
+    public static long pendingCount() {
+        return Math.max(0, created.sum() - resolved.sum());
+    }
+
+    public static long listenerCount() {
+        return listeners.sum();
+    }
+
+    public static long taskCount() {
+        return tasks.sum();
+    }
+
+    /** Number of backup attempts started by {@link Promise#hedge}. */
+    public static long hedgeFiredCount() {
+        return hedgesFired.sum();
+    }
+
+    /** Number of hedged calls won by a backup attempt rather than the first one. */
+    public static long hedgeWonCount() {
+        return hedgesWon.sum();
+    }
+
+    /** Time from creation to resolution of promises created unresolved. */
+    public static @NotNull Histogram resolutionLatency() {
+        return resolutionLatency;
+    }
+
+    /** Time from submission to start of tasks run through {@link AsyncExecutor}. */
+    public static @NotNull Histogram queueDelay() {
+        return queueDelay;
+    }
+
+    public static void reset() {
+        created.reset();
+        resolved.reset();
+        failed.reset();
+        listeners.reset();
+        tasks.reset();
+        hedgesFired.reset();
+        hedgesWon.reset();
+        resolutionLatency.reset();
+        queueDelay.reset();
+    }
+
+    // ----- Histogram -----
+
+    /**
+     * Latency histogram with power-of-two nanosecond buckets, so recording is a single striped increment
+     * and percentiles are accurate to within a factor of two.
+     */
+    public static final class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+
+        Histogram() {
+            for (var i = 0; i < BUCKETS; i++) { buckets[i] = new LongAdder(); }
+        }
+
+        void record(long nanos) {
+            var value = Math.max(0, nanos);
+            buckets[BUCKETS - Long.numberOfLeadingZeros(value | 1)].increment();
+            total.add(value);
+        }
+
+        public long count() {
+            var count = 0L;
+            for (var bucket : buckets) { count += bucket.sum(); }
+            return count;
+        }
+
+        public long totalNanos() {
+            return total.sum();
+        }
+
+        public double meanNanos() {
+            var count = count();
+            return count == 0 ? 0 : (double) total.sum() / count;
+        }
+
+        /** Upper bound in nanoseconds of the bucket containing the given percentile (0 to 100). */
+        public long percentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile + "!");
+            }
+
+            var counts = new long[BUCKETS];
+            var count = 0L;
+            for (var i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            if (count == 0) { return 0; }
+
+            var rank = (long) Math.ceil(count * percentile / 100);
+            var seen = 0L;
+            for (var i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) { return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1; }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        void reset() {
+            for (var bucket : buckets) { bucket.reset(); }
+            total.reset();
+        }
+    }
+}
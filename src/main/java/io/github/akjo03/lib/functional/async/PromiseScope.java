@@ -0,0 +1,167 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.AsyncClosable;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Scope owning every promise forked inside it. The first failing child cancels its siblings,
+ * and closing the scope resolves once all children are resolved.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class PromiseScope implements AsyncClosable {
+    private final Executor executor;
+    private final Set<Promise<?>> children = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicReference<Cause> failure = new AtomicReference<>();
+    private final Promise<Unit> closed = Promise.promise();
+    private volatile boolean closing;
+
+    @Contract(pure = true)
+    private PromiseScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Contract(" -> new")
+    public static @NotNull PromiseScope scope() {
+        return new PromiseScope(AsyncExecutor.INSTANCE.executor());
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull PromiseScope scope(@NotNull Executor executor) {
+        return new PromiseScope(executor);
+    }
+
+    // ----- Forking Methods -----
+
+    public <R> @NotNull Promise<R> fork(Consumer<Promise<R>> task) {
+        return adopt(() -> Promise.promise(executor, task));
+    }
+
+    public <R> @NotNull Promise<R> fork(Function0<Promise<R>> task) {
+        return adopt(task);
+    }
+
+    private <R> @NotNull Promise<R> adopt(Function0<Promise<R>> supplier) {
+        active.incrementAndGet();
+
+        if (closing) {
+            release();
+            return OperationException.CANCELLED.promise();
+        }
+
+        Promise<R> child;
+        try {
+            child = supplier.apply();
+        } catch (RuntimeException e) {
+            // A throwing task counts as a failed child, so it fails the scope and gives back its slot.
+            var cause = Causes.fromThrowable(e);
+            fail(cause);
+            release();
+            return Promise.failed(cause);
+        }
+
+        children.add(child);
+
+        return child.onResult(result -> {
+            children.remove(child);
+            result.onFailure(this::fail);
+            release();
+        });
+    }
+
+    // ----- Closing Methods -----
+
+    @Override
+    public Promise<Unit> close() {
+        closing = true;
+        tryComplete();
+        return closed;
+    }
+
+    public Promise<Unit> close(@NotNull Timeout timeout) {
+        var closing = close();
+
+        if (closing.isResolved()) { return closing; }
+
+        var timer = AsyncExecutor.INSTANCE.schedule(timeout, () -> {
+            failure.compareAndSet(null, OperationException.TIMEOUT);
+            cancelChildren();
+        });
+        return closing.onResultDo(timer::cancel);
+    }
+
+    public Promise<Unit> cancel() {
+        failure.compareAndSet(null, OperationException.CANCELLED);
+        cancelChildren();
+        return close();
+    }
+
+    // ----- State Methods -----
+
+    public int active() {
+        return active.get();
+    }
+
+    public boolean isClosed() {
+        return closing;
+    }
+
+    // ----- Helper Methods -----
+
+    private void fail(Cause cause) {
+        if (cause != OperationException.CANCELLED && failure.compareAndSet(null, cause)) {
+            cancelChildren();
+        }
+    }
+
+    private void cancelChildren() {
+        children.forEach(Promise::cancel);
+    }
+
+    private void release() {
+        if (active.decrementAndGet() == 0) { tryComplete(); }
+    }
+
+    private void tryComplete() {
+        if (!closing || active.get() != 0) { return; }
+
+        var cause = failure.get();
+        closed.resolve(cause == null ? Unit.unitResult() : cause.result());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "PromiseScope(" + active.get() + (closing ? ", closed" : "") + ")";
+    }
+}
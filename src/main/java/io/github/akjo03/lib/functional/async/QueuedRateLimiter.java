@@ -0,0 +1,120 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Base of the rate limiters. Requests wait in a FIFO queue that is drained by one thread at a time, so the
+ * permit state only needs plain fields, and a request that can be served right away never blocks or waits on a lock.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+abstract sealed class QueuedRateLimiter implements RateLimiter permits TokenBucket, SlidingWindow {
+    private record Waiter(int permits, Promise<Unit> promise) {}
+
+    private final int maxPermits;
+    private final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private Scheduler.Timer timer;
+
+    QueuedRateLimiter(int maxPermits) {
+        this.maxPermits = maxPermits;
+    }
+
+    /**
+     * Takes the permits if available at the given time and returns 0, or returns how many nanoseconds to wait
+     * until they will be. Only ever called by the thread currently draining.
+     */
+    abstract long reserve(int permits, long now);
+
+    // ----- Acquiring Methods -----
+
+    @Override
+    public Promise<Unit> acquire(int permits) {
+        if (permits < 1 || permits > maxPermits) {
+            return Causes.cause("Permits must be between 1 and {0}, but was {1}!", maxPermits, permits).promise();
+        }
+
+        var promise = Promise.<Unit>promise();
+        waiting.incrementAndGet();
+        queue.offer(new Waiter(permits, promise));
+        drain();
+
+        // A cancelled waiter at the head of the queue must not hold back the ones behind it.
+        if (!promise.isResolved()) { promise.onResultDo(this::drain); }
+        return promise;
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        if (permits < 1 || permits > maxPermits || !queue.isEmpty() || !wip.compareAndSet(0, 1)) { return false; }
+
+        var granted = reserve(permits, AsyncExecutor.INSTANCE.nanoTime()) == 0;
+
+        if (wip.decrementAndGet() != 0) { drainLoop(); }
+        return granted;
+    }
+
+    // ----- State Methods -----
+
+    @Override
+    public int waiting() {
+        return waiting.get();
+    }
+
+    // ----- Internal Methods -----
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) { return; }
+
+        drainLoop();
+    }
+
+    private void drainLoop() {
+        do {
+            Waiter head;
+            while ((head = queue.peek()) != null) {
+                if (!head.promise().isResolved()) {
+                    var wait = reserve(head.permits(), AsyncExecutor.INSTANCE.nanoTime());
+
+                    if (wait > 0) {
+                        schedule(wait);
+                        break;
+                    }
+                }
+
+                queue.poll();
+                waiting.decrementAndGet();
+                head.promise().success(Unit.unit());
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void schedule(long waitNanos) {
+        if (timer != null) { timer.cancel(); }
+        timer = AsyncExecutor.INSTANCE.schedule(Timeout.timeout(waitNanos).nanos(), this::drain);
+    }
+}
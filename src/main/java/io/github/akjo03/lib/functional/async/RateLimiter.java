@@ -0,0 +1,67 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Asynchronous rate limiter. Permits are handed out in request order, and callers waiting for permits hold
+ * a pending promise instead of a thread.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public interface RateLimiter {
+    // ----- Creational Methods -----
+
+    /**
+     * Token bucket holding up to {@code capacity} permits, refilled continuously at {@code permits} per {@code period}.
+     */
+    @Contract("_, _, _ -> new")
+    static @NotNull RateLimiter tokenBucket(int capacity, int permits, @NotNull Timeout period) {
+        return new TokenBucket(capacity, permits, period);
+    }
+
+    /**
+     * Sliding window granting at most {@code limit} permits within any window of the given length.
+     */
+    @Contract("_, _ -> new")
+    static @NotNull RateLimiter slidingWindow(int limit, @NotNull Timeout window) {
+        return new SlidingWindow(limit, window);
+    }
+
+    // ----- Acquiring Methods -----
+
+    /** Resolves once the given number of permits has been granted. Cancelling the promise gives up the place in line. */
+    Promise<Unit> acquire(int permits);
+
+    default Promise<Unit> acquire() {
+        return acquire(1);
+    }
+
+    /** Grants the permits only if they are available right now and nobody is waiting. */
+    boolean tryAcquire(int permits);
+
+    default boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    // ----- State Methods -----
+
+    int waiting();
+}
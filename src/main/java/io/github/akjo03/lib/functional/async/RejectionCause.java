@@ -0,0 +1,33 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+@SuppressWarnings({"unused", "java:S125"})
+public enum RejectionCause implements Cause {
+    CIRCUIT_OPEN("Circuit breaker is open!"),
+    BULKHEAD_FULL("Bulkhead is full!"),
+    POOL_CLOSED("Pool is closed!");
+
+    private final String message;
+}
@@ -0,0 +1,601 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Demand-driven {@link Flow.Publisher} whose elements are results. Failed elements are passed through
+ * every operator unchanged, while exceptions thrown by mappers are turned into failed elements.
+ */
+@FunctionalInterface
+@SuppressWarnings({"unused", "java:S125", "UnusedReturnValue"})
+public interface ResultPublisher<T> extends Flow.Publisher<Result<T>> {
+    // ----- Source Implementation -----
+
+    final class SourceSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super Result<T>> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Iterator<Result<T>> iterator;
+        private volatile boolean cancelled;
+
+        private SourceSubscription(Flow.Subscriber<? super Result<T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void emitFrom(Iterator<Result<T>> iterator) {
+            this.iterator = iterator;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Requested amount must be greater than 0, but was " + n + "!"));
+                return;
+            }
+
+            addRequested(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) { return; }
+
+            do {
+                var source = iterator;
+
+                if (source != null && !cancelled) {
+                    var demand = requested.get();
+                    var emitted = 0L;
+
+                    try {
+                        while (!cancelled && emitted != demand && source.hasNext()) {
+                            subscriber.onNext(source.next());
+                            emitted++;
+                        }
+
+                        if (!cancelled && !source.hasNext()) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                    } catch (RuntimeException e) {
+                        cancelled = true;
+                        subscriber.onError(e);
+                    }
+
+                    consumeRequested(requested, emitted);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+
+    // ----- Operator Implementations -----
+
+    final class TransformSubscriber<I, R> implements Flow.Subscriber<I>, Flow.Subscription {
+        private final Flow.Subscriber<? super Result<R>> downstream;
+        private final Function1<Result<R>, I> transformer;
+        private volatile Flow.Subscription upstream;
+
+        private TransformSubscriber(Flow.Subscriber<? super Result<R>> downstream, Function1<Result<R>, I> transformer) {
+            this.downstream = downstream;
+            this.transformer = transformer;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(I item) {
+            Result<R> result;
+
+            try {
+                result = transformer.apply(item);
+            } catch (RuntimeException e) {
+                result = Result.failure(Causes.fromThrowable(e));
+            }
+
+            if (result == null) {
+                upstream.request(1);
+            } else {
+                downstream.onNext(result);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+
+    abstract class QueueStage<T, R> implements Flow.Subscriber<Result<T>>, Flow.Subscription {
+        protected final Flow.Subscriber<? super Result<R>> downstream;
+        protected final Queue<Result<R>> queue = new ConcurrentLinkedQueue<>();
+        protected volatile Flow.Subscription upstream;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        protected QueueStage(Flow.Subscriber<? super Result<R>> downstream) {
+            this.downstream = downstream;
+        }
+
+        protected abstract void onStart();
+
+        protected abstract int upstreamConsumed(Result<R> emitted);
+
+        protected void onUpstreamComplete() {}
+
+        protected boolean isIdle() {
+            return true;
+        }
+
+        protected void onCancel() {}
+
+        @Override
+        public final void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            onStart();
+        }
+
+        @Override
+        public final void onError(Throwable throwable) {
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public final void onComplete() {
+            onUpstreamComplete();
+            done = true;
+            drain();
+        }
+
+        @Override
+        public final void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested amount must be greater than 0, but was " + n + "!"));
+                return;
+            }
+
+            addRequested(requested, n);
+            drain();
+        }
+
+        @Override
+        public final void cancel() {
+            if (cancelled) { return; }
+
+            cancelled = true;
+            upstream.cancel();
+            onCancel();
+            queue.clear();
+        }
+
+        protected final void drain() {
+            if (wip.getAndIncrement() != 0) { return; }
+
+            do {
+                var demand = requested.get();
+                var emitted = 0L;
+                var consumed = 0L;
+
+                while (!cancelled && emitted != demand) {
+                    var next = queue.poll();
+                    if (next == null) { break; }
+
+                    downstream.onNext(next);
+                    consumed += upstreamConsumed(next);
+                    emitted++;
+                }
+
+                consumeRequested(requested, emitted);
+                if (consumed > 0 && !done && !cancelled) { upstream.request(consumed); }
+
+                if (!cancelled && done && isIdle() && queue.isEmpty()) {
+                    cancelled = true;
+
+                    var throwable = error;
+                    if (throwable != null) {
+                        downstream.onError(throwable);
+                    } else {
+                        downstream.onComplete();
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+
+    final class BufferStage<T> extends QueueStage<T, T> {
+        private final int size;
+
+        private BufferStage(Flow.Subscriber<? super Result<T>> downstream, int size) {
+            super(downstream);
+            this.size = size;
+        }
+
+        @Override
+        protected void onStart() {
+            upstream.request(size);
+        }
+
+        @Override
+        protected int upstreamConsumed(Result<T> emitted) {
+            return 1;
+        }
+
+        @Override
+        public void onNext(Result<T> item) {
+            queue.offer(item);
+            drain();
+        }
+    }
+
+    final class BatchStage<T> extends QueueStage<T, List<T>> {
+        private final int size;
+        private List<T> batch;
+
+        private BatchStage(Flow.Subscriber<? super Result<List<T>>> downstream, int size) {
+            super(downstream);
+            this.size = size;
+            this.batch = new ArrayList<>(size);
+        }
+
+        @Override
+        protected void onStart() {
+            upstream.request(size);
+        }
+
+        @Override
+        protected int upstreamConsumed(Result<List<T>> emitted) {
+            return emitted.fold(__ -> 1, List::size);
+        }
+
+        @Override
+        protected void onUpstreamComplete() {
+            flush();
+        }
+
+        @Override
+        public void onNext(Result<T> item) {
+            item.accept(cause -> {
+                flush();
+                queue.offer(cause.result());
+            }, value -> {
+                batch.add(value);
+                if (batch.size() == size) { flush(); }
+            });
+            drain();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) { return; }
+
+            queue.offer(Result.success(batch));
+            batch = new ArrayList<>(size);
+        }
+    }
+
+    final class FlatMapStage<T, R> extends QueueStage<T, R> {
+        private final Function1<Promise<R>, T> mapper;
+        private final int concurrency;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Set<Promise<R>> running = ConcurrentHashMap.newKeySet();
+
+        private FlatMapStage(Flow.Subscriber<? super Result<R>> downstream, Function1<Promise<R>, T> mapper, int concurrency) {
+            super(downstream);
+            this.mapper = mapper;
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        protected void onStart() {
+            upstream.request(concurrency);
+        }
+
+        @Override
+        protected int upstreamConsumed(Result<R> emitted) {
+            return 1;
+        }
+
+        @Override
+        protected boolean isIdle() {
+            return active.get() == 0;
+        }
+
+        @Override
+        protected void onCancel() {
+            running.forEach(Promise::cancel);
+        }
+
+        @Override
+        public void onNext(Result<T> item) {
+            item.accept(cause -> {
+                queue.offer(cause.result());
+                drain();
+            }, this::launch);
+        }
+
+        private void launch(T value) {
+            active.incrementAndGet();
+
+            Promise<R> promise;
+            try {
+                promise = mapper.apply(value);
+            } catch (RuntimeException e) {
+                promise = Promise.failed(Causes.fromThrowable(e));
+            }
+
+            var current = promise;
+            running.add(current);
+            current.onResult(result -> {
+                running.remove(current);
+                queue.offer(result);
+                active.decrementAndGet();
+                drain();
+            });
+        }
+    }
+
+    // ----- Sink Implementations -----
+
+    final class CollectSubscriber<T> implements Flow.Subscriber<Result<T>> {
+        private final Promise<List<T>> promise = Promise.promise();
+        private final List<T> values = new ArrayList<>();
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            promise.onResultDo(subscription::cancel);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Result<T> item) {
+            if (promise.isResolved()) { return; }
+
+            item.accept(promise::failure, values::add);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            promise.failure(Causes.fromThrowable(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            promise.success(values);
+        }
+    }
+
+    final class ForEachSubscriber<T> implements Flow.Subscriber<Result<T>> {
+        private final Promise<Unit> promise = Promise.promise();
+        private final Consumer<Result<T>> consumer;
+        private final int batchSize;
+        private volatile Flow.Subscription subscription;
+        private int received;
+
+        private ForEachSubscriber(Consumer<Result<T>> consumer, int batchSize) {
+            this.consumer = consumer;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            promise.onResultDo(subscription::cancel);
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(Result<T> item) {
+            if (promise.isResolved()) { return; }
+
+            try {
+                consumer.accept(item);
+            } catch (RuntimeException e) {
+                promise.failure(Causes.fromThrowable(e));
+                return;
+            }
+
+            if (++received == batchSize) {
+                received = 0;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            promise.failure(Causes.fromThrowable(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            promise.success(Unit.unit());
+        }
+    }
+
+    // ----- Creational Methods -----
+
+    @Contract(pure = true)
+    static <T> @NotNull ResultPublisher<T> from(@NotNull Flow.Publisher<Result<T>> publisher) {
+        return publisher instanceof ResultPublisher<T> resultPublisher ? resultPublisher : publisher::subscribe;
+    }
+
+    @Contract(pure = true)
+    static <T> @NotNull ResultPublisher<T> fromValues(@NotNull Flow.Publisher<T> publisher) {
+        return subscriber -> publisher.subscribe(new TransformSubscriber<T, T>(subscriber, Result::success));
+    }
+
+    @Contract(pure = true)
+    static <T> @NotNull ResultPublisher<T> fromResults(@NotNull Iterable<Result<T>> results) {
+        return subscriber -> {
+            var subscription = new SourceSubscription<T>(subscriber);
+            subscriber.onSubscribe(subscription);
+            subscription.emitFrom(results.iterator());
+        };
+    }
+
+    @Contract(pure = true)
+    static <T> @NotNull ResultPublisher<T> fromIterable(@NotNull Iterable<T> values) {
+        return subscriber -> {
+            var subscription = new SourceSubscription<T>(subscriber);
+            subscriber.onSubscribe(subscription);
+            subscription.emitFrom(successes(values.iterator()));
+        };
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> @NotNull ResultPublisher<T> of(T... values) {
+        return fromIterable(List.of(values));
+    }
+
+    @Contract(pure = true)
+    static <T> @NotNull ResultPublisher<T> fromPromise(@NotNull Promise<List<T>> promise) {
+        return subscriber -> {
+            var subscription = new SourceSubscription<T>(subscriber);
+            subscriber.onSubscribe(subscription);
+            promise.onResult(result -> subscription.emitFrom(result.fold(
+                    cause -> List.of(cause.<T>result()).iterator(),
+                    values -> successes(values.iterator())
+            )));
+        };
+    }
+
+    private static <T> @NotNull Iterator<Result<T>> successes(@NotNull Iterator<T> iterator) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Result<T> next() {
+                return Result.success(iterator.next());
+            }
+        };
+    }
+
+    // ----- Transformational Methods -----
+
+    default <R> @NotNull ResultPublisher<R> map(Function1<R, ? super T> mapper) {
+        return subscriber -> subscribe(new TransformSubscriber<Result<T>, R>(subscriber, result -> result.map(mapper)));
+    }
+
+    default @NotNull ResultPublisher<T> filter(Predicate<? super T> predicate) {
+        return subscriber -> subscribe(new TransformSubscriber<Result<T>, T>(subscriber, result -> result.fold(
+                __ -> result,
+                value -> predicate.test(value) ? result : null
+        )));
+    }
+
+    default <R> @NotNull ResultPublisher<R> flatMapAsync(Function1<Promise<R>, T> mapper, int concurrency) {
+        if (concurrency <= 0) { throw new IllegalArgumentException("Concurrency must be greater than 0, but was " + concurrency + "!"); }
+
+        return subscriber -> subscribe(new FlatMapStage<>(subscriber, mapper, concurrency));
+    }
+
+    default @NotNull ResultPublisher<T> buffer(int size) {
+        if (size <= 0) { throw new IllegalArgumentException("Buffer size must be greater than 0, but was " + size + "!"); }
+
+        return subscriber -> subscribe(new BufferStage<>(subscriber, size));
+    }
+
+    default @NotNull ResultPublisher<List<T>> batch(int size) {
+        if (size <= 0) { throw new IllegalArgumentException("Batch size must be greater than 0, but was " + size + "!"); }
+
+        return subscriber -> subscribe(new BatchStage<>(subscriber, size));
+    }
+
+    // ----- Consuming Methods -----
+
+    default @NotNull Promise<List<T>> toPromise() {
+        var subscriber = new CollectSubscriber<T>();
+        subscribe(subscriber);
+        return subscriber.promise;
+    }
+
+    default @NotNull Promise<Unit> forEach(Consumer<Result<T>> consumer) {
+        var subscriber = new ForEachSubscriber<>(consumer, Flow.defaultBufferSize());
+        subscribe(subscriber);
+        return subscriber.promise;
+    }
+
+    // ----- Demand Helpers -----
+
+    private static void addRequested(@NotNull AtomicLong requested, long n) {
+        requested.getAndUpdate(current -> current == Long.MAX_VALUE || current + n < 0 ? Long.MAX_VALUE : current + n);
+    }
+
+    private static void consumeRequested(@NotNull AtomicLong requested, long emitted) {
+        if (emitted == 0) { return; }
+
+        requested.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - emitted);
+    }
+}
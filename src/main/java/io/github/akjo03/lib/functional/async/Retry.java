@@ -0,0 +1,98 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class Retry<T> {
+    private final RetryPolicy policy;
+    private final Function0<Promise<T>> operation;
+    private final Promise<T> promise = Promise.promise();
+    private final long deadlineNanos;
+
+    private volatile Promise<T> current;
+    private volatile Scheduler.Timer timer;
+    private int attempt;
+    private long previousDelayNanos;
+
+    Retry(@NotNull RetryPolicy policy, Function0<Promise<T>> operation) {
+        this.policy = policy;
+        this.operation = operation;
+        this.deadlineNanos = policy.maxDuration()
+                .map(maxDuration -> AsyncExecutor.INSTANCE.nanoTime() + maxDuration.nanoseconds())
+                .or(Long.MAX_VALUE);
+        this.previousDelayNanos = policy.initialDelay().nanoseconds();
+    }
+
+    Promise<T> start() {
+        policy.maxDuration().onValue(promise::withTimeout);
+        promise.onResultDo(this::stop);
+
+        attempt();
+        return promise;
+    }
+
+    private void attempt() {
+        if (promise.isResolved()) { return; }
+
+        attempt++;
+
+        Promise<T> next;
+        try {
+            next = operation.apply();
+        } catch (RuntimeException e) {
+            next = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        current = next;
+        next.onResult(result -> result.accept(this::retryOrFail, promise::success));
+    }
+
+    private void retryOrFail(Cause cause) {
+        if (promise.isResolved()) { return; }
+
+        if (!policy.shouldRetry(attempt, cause)) {
+            promise.failure(cause);
+            return;
+        }
+
+        var delayNanos = policy.delayNanos(attempt, previousDelayNanos);
+        previousDelayNanos = delayNanos;
+
+        if (AsyncExecutor.INSTANCE.nanoTime() + delayNanos >= deadlineNanos) {
+            promise.failure(cause);
+            return;
+        }
+
+        timer = AsyncExecutor.INSTANCE.schedule(Timeout.timeout(delayNanos).nanos(), this::attempt);
+        if (promise.isResolved()) { stop(); }
+    }
+
+    private void stop() {
+        var pendingTimer = timer;
+        if (pendingTimer != null) { pendingTimer.cancel(); }
+
+        var pendingAttempt = current;
+        if (pendingAttempt != null) { pendingAttempt.cancel(); }
+    }
+}
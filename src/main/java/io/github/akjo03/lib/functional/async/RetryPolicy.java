@@ -0,0 +1,105 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.Option;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import lombok.With;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@With
+@SuppressWarnings({"unused", "java:S125"})
+public record RetryPolicy(
+        int maxAttempts,
+        Timeout initialDelay,
+        Timeout maxDelay,
+        double multiplier,
+        Jitter jitter,
+        Option<Timeout> maxDuration,
+        Predicate<Cause> retryOn
+) {
+    public enum Jitter {
+        NONE,
+        FULL,
+        DECORRELATED
+    }
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts of RetryPolicy must be at least 1, but was " + maxAttempts + "!");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier of RetryPolicy must be at least 1, but was " + multiplier + "!");
+        }
+    }
+
+    // ----- Creational Methods -----
+
+    @Contract("_, _ -> new")
+    public static @NotNull RetryPolicy exponential(@NotNull Timeout initialDelay, @NotNull Timeout maxDelay) {
+        return new RetryPolicy(
+                3,
+                initialDelay,
+                maxDelay,
+                2.0,
+                Jitter.FULL,
+                Option.empty(),
+                cause -> cause != OperationException.CANCELLED
+        );
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull RetryPolicy fixed(@NotNull Timeout delay) {
+        return exponential(delay, delay).withMultiplier(1.0).withJitter(Jitter.NONE);
+    }
+
+    @Contract("_ -> new")
+    public @NotNull RetryPolicy withMaxDuration(@NotNull Timeout maxDuration) {
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, Option.present(maxDuration), retryOn);
+    }
+
+    // ----- Policy Methods -----
+
+    public boolean shouldRetry(int attempt, @NotNull Cause cause) {
+        return attempt < maxAttempts && retryOn.test(cause);
+    }
+
+    public long delayNanos(int attempt, long previousDelayNanos) {
+        var base = initialDelay.nanoseconds();
+        var cap = maxDelay.nanoseconds();
+        var random = ThreadLocalRandom.current();
+
+        return switch (jitter) {
+            case NONE -> exponentialDelay(attempt, base, cap);
+            case FULL -> random.nextLong(exponentialDelay(attempt, base, cap) + 1);
+            case DECORRELATED -> {
+                var upper = Math.max(base, Math.min(cap, previousDelayNanos > Long.MAX_VALUE / 3 ? cap : previousDelayNanos * 3));
+                yield Math.min(cap, base + random.nextLong(upper - base + 1));
+            }
+        };
+    }
+
+    private long exponentialDelay(int attempt, long base, long cap) {
+        var delay = base * Math.pow(multiplier, attempt - 1.0);
+        return delay >= cap ? cap : (long) delay;
+    }
+}
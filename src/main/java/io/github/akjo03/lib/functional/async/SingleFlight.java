@@ -0,0 +1,107 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.util.Causes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Coalesces concurrent loads of the same key into one in-flight promise. The entry is removed as soon as
+ * the load is resolved, so later calls start a fresh load.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Promise<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    @Contract(pure = true)
+    private SingleFlight() {}
+
+    @Contract(" -> new")
+    public static <K, V> @NotNull SingleFlight<K, V> singleFlight() {
+        return new SingleFlight<>();
+    }
+
+    // ----- Load Methods -----
+
+    /**
+     * Returns a promise for the value of the given key, starting the loader only if no load for the key is
+     * in flight. Each caller gets its own dependent promise, so the shared load is only cancelled once every
+     * caller has cancelled.
+     */
+    public @NotNull Promise<V> load(@NotNull K key, Function1<Promise<V>, K> loader) {
+        // Plain reads do not lock the bin, so only the first caller per key pays for the insert.
+        var existing = flights.get(key);
+        if (existing != null && !existing.isResolved()) { return share(existing); }
+
+        var promise = Promise.<V>promise();
+        while ((existing = flights.putIfAbsent(key, promise)) != null) {
+            if (!existing.isResolved()) { return share(existing); }
+
+            // Resolved flights are removed by a listener, which may not have run yet.
+            flights.remove(key, existing);
+        }
+
+        loads.increment();
+        promise.onResultDo(() -> flights.remove(key, promise));
+
+        Promise<V> inner;
+        try {
+            inner = loader.apply(key);
+        } catch (RuntimeException e) {
+            inner = Promise.failed(Causes.fromThrowable(e));
+        }
+
+        var current = inner;
+        promise.onResultDo(current::cancel);
+        current.onResult(result -> {
+            flights.remove(key, promise);
+            promise.resolve(result);
+        });
+
+        return promise.map(value -> value);
+    }
+
+    // ----- State Methods -----
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    // ----- Internal Methods -----
+
+    private @NotNull Promise<V> share(@NotNull Promise<V> promise) {
+        shared.increment();
+        return promise.map(value -> value);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Sliding window log. Keeps the grant time of the last {@code limit} permits in a ring buffer, so a permit is
+ * available once the permit granted {@code limit} permits earlier has left the window.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class SlidingWindow extends QueuedRateLimiter {
+    private final long windowNanos;
+    private final long[] grants;
+    private int oldest;
+
+    SlidingWindow(int limit, @NotNull Timeout window) {
+        super(limit);
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit of SlidingWindow must be at least 1, but was " + limit + "!");
+        }
+        if (window.nanoseconds() < 1) {
+            throw new IllegalArgumentException("Window of SlidingWindow must be positive!");
+        }
+
+        this.windowNanos = window.nanoseconds();
+        this.grants = new long[limit];
+        Arrays.fill(grants, AsyncExecutor.INSTANCE.nanoTime() - windowNanos);
+    }
+
+    @Override
+    long reserve(int permits, long now) {
+        var last = (oldest + permits - 1) % grants.length;
+        var elapsed = now - grants[last];
+
+        if (elapsed < windowNanos) { return windowNanos - elapsed; }
+
+        for (var i = 0; i < permits; i++) { grants[(oldest + i) % grants.length] = now; }
+        oldest = (oldest + permits) % grants.length;
+        return 0;
+    }
+}
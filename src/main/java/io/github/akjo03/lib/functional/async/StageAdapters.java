@@ -0,0 +1,126 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Cause;
+import io.github.akjo03.lib.functional.CauseException;
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.util.Causes;
+import io.github.akjo03.lib.io.OperationException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Adapters between {@link Promise} and {@link CompletionStage}. Each direction uses a single object as both the
+ * completion callback and the cancellation hook, and completes on the thread that resolves the source.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class StageAdapters {
+    @Contract(pure = true)
+    private StageAdapters() {}
+
+    static <T> @NotNull Promise<T> fromStage(@NotNull CompletionStage<T> stage) {
+        if (stage instanceof CompletableFuture<T> future && future.isDone()) {
+            return Promise.resolved(resultOf(future));
+        }
+
+        var bridge = new StageBridge<>(stage);
+        stage.whenComplete(bridge);
+        return bridge.promise.onResult(bridge);
+    }
+
+    static <T> @NotNull CompletableFuture<T> toCompletableFuture(@NotNull Promise<T> promise) {
+        var future = new PromiseFuture<>(promise);
+        promise.onResult(future);
+        return future;
+    }
+
+    // ----- Conversion Methods -----
+
+    private static <T> @NotNull Result<T> resultOf(@NotNull CompletableFuture<T> future) {
+        return switch (future.state()) {
+            case SUCCESS -> Result.success(future.resultNow());
+            case FAILED -> Result.failure(causeOf(future.exceptionNow()));
+            default -> OperationException.CANCELLED.result();
+        };
+    }
+
+    private static @NotNull Cause causeOf(@NotNull Throwable throwable) {
+        var current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException) && current.getCause() != null) {
+            current = current.getCause();
+        }
+
+        return switch (current) {
+            case CauseException exception -> exception.failure();
+            case CancellationException exception -> OperationException.CANCELLED;
+            case TimeoutException exception -> OperationException.TIMEOUT;
+            default -> Causes.fromThrowable(current);
+        };
+    }
+
+    // ----- Adapters -----
+
+    private static final class StageBridge<T> implements BiConsumer<T, Throwable>, Consumer<Result<T>> {
+        private final CompletionStage<T> stage;
+        private final Promise.PromiseImpl<T> promise = Promise.PromiseImpl.pending();
+
+        private StageBridge(CompletionStage<T> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        public void accept(T value, Throwable throwable) {
+            promise.resolveInline(throwable == null ? Result.success(value) : Result.failure(causeOf(throwable)));
+        }
+
+        @Override
+        public void accept(Result<T> result) {
+            if (result instanceof Result.Failure<T>(var cause) && cause == OperationException.CANCELLED && stage instanceof Future<?> future) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static final class PromiseFuture<T> extends CompletableFuture<T> implements Consumer<Result<T>> {
+        private final Promise<T> promise;
+
+        private PromiseFuture(Promise<T> promise) {
+            this.promise = promise;
+        }
+
+        @Override
+        public void accept(Result<T> result) {
+            switch (result) {
+                case Result.Success<T>(var value) -> complete(value);
+                case Result.Failure<T>(var cause) when cause == OperationException.CANCELLED -> super.cancel(false);
+                case Result.Failure<T>(var cause) -> completeExceptionally(new CauseException(cause));
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            var cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) { promise.cancel(); }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class TokenBucket extends QueuedRateLimiter {
+    private final int capacity;
+    private final double permitsPerNano;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, int permits, @NotNull Timeout period) {
+        super(capacity);
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity of TokenBucket must be at least 1, but was " + capacity + "!");
+        }
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits of TokenBucket must be at least 1, but was " + permits + "!");
+        }
+        if (period.nanoseconds() < 1) {
+            throw new IllegalArgumentException("Period of TokenBucket must be positive!");
+        }
+
+        this.capacity = capacity;
+        this.permitsPerNano = (double) permits / period.nanoseconds();
+        this.tokens = capacity;
+        this.refilledAt = AsyncExecutor.INSTANCE.nanoTime();
+    }
+
+    @Override
+    long reserve(int permits, long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+
+        if (tokens >= permits) {
+            tokens -= permits;
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((permits - tokens) / permitsPerNano));
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.functional.util.Causes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.akjo03.lib.functional.Functions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Maps a lazily consumed iterator through a promise-returning function while keeping at most a fixed number of
+ * operations in flight. In ordered mode, results count as in flight until they have been emitted in input order,
+ * which bounds the reorder buffer by the same limit.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+final class Traversal<T, R> {
+    @FunctionalInterface
+    interface Sink<R> {
+        void accept(int index, R value);
+    }
+
+    private final Iterator<T> iterator;
+    private final Function1<Promise<R>, T> mapper;
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final Sink<R> sink;
+
+    private final Promise<Unit> promise = Promise.promise();
+    private final Set<Promise<R>> running = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Integer, R> reorderBuffer = new HashMap<>();
+    private volatile boolean exhausted;
+    private int nextIndex;
+    private int nextEmitted;
+
+    Traversal(@NotNull Iterator<T> iterator, Function1<Promise<R>, T> mapper, int maxInFlight, boolean ordered, Sink<R> sink) {
+        this.iterator = iterator;
+        this.mapper = mapper;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.sink = sink;
+    }
+
+    Promise<Unit> start() {
+        if (maxInFlight <= 0) {
+            return Causes.cause("Maximum in flight operations must be greater than 0, but was {0}!", maxInFlight).promise();
+        }
+
+        promise.onResultDo(() -> running.forEach(Promise::cancel));
+        drain();
+        return promise;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) { return; }
+
+        do {
+            try {
+                while (!exhausted && !promise.isResolved() && inFlight.get() < maxInFlight) {
+                    if (!iterator.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+
+                    launch(nextIndex++, iterator.next());
+                }
+            } catch (RuntimeException e) {
+                promise.failure(Causes.fromThrowable(e));
+            }
+
+            if (exhausted && inFlight.get() == 0) { promise.success(Unit.unit()); }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void launch(int index, T input) {
+        inFlight.incrementAndGet();
+
+        var current = mapper.apply(input);
+        running.add(current);
+        // The traversal may have resolved before the operation was tracked, in which case it was not cancelled.
+        if (promise.isResolved()) { current.cancel(); }
+
+        current.onResult(result -> {
+            running.remove(current);
+            result.accept(promise::failure, value -> deliver(index, value));
+            drain();
+        });
+    }
+
+    private void deliver(int index, R value) {
+        if (!ordered) {
+            synchronized (this) { sink.accept(index, value); }
+            inFlight.decrementAndGet();
+            return;
+        }
+
+        var emitted = 0;
+
+        synchronized (reorderBuffer) {
+            reorderBuffer.put(index, value);
+
+            while (reorderBuffer.containsKey(nextEmitted)) {
+                sink.accept(nextEmitted, reorderBuffer.remove(nextEmitted));
+                nextEmitted++;
+                emitted++;
+            }
+        }
+
+        inFlight.addAndGet(-emitted);
+    }
+}
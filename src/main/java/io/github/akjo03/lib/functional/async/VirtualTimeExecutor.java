@@ -0,0 +1,277 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.io.Scheduler;
+import io.github.akjo03.lib.io.Timeout;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Executor and scheduler running on a virtual clock, for testing code built on promises and timeouts without real
+ * sleeps. Submitted tasks are queued and only run when the queue is stepped through, and time only moves when it is
+ * advanced. Without a seed, tasks run in submission order. With a seed, each step picks a random queued task, so a
+ * seed reproduces one specific interleaving. Exceptions thrown by tasks are passed on to the caller of the step.
+ * <p>
+ * The executor is meant to be driven from a single test thread. Blocking on a promise that can only be resolved by
+ * a queued task deadlocks, so step or advance first and join afterwards.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class VirtualTimeExecutor implements Executor, Scheduler {
+    private final Random random;
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final PriorityQueue<VirtualTimer> timers = new PriorityQueue<>(
+            Comparator.comparingLong(VirtualTimer::deadline).thenComparingLong(VirtualTimer::sequence)
+    );
+    private long now;
+    private long sequence;
+    private int head;
+
+    private Executor previousExecutor;
+    private Scheduler previousScheduler;
+
+    @Contract(pure = true)
+    private VirtualTimeExecutor(Random random) {
+        this.random = random;
+    }
+
+    @Contract(" -> new")
+    public static @NotNull VirtualTimeExecutor virtualTime() {
+        return new VirtualTimeExecutor(null);
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull VirtualTimeExecutor virtualTime(long seed) {
+        return new VirtualTimeExecutor(new Random(seed));
+    }
+
+    // ----- Installation -----
+
+    /** Makes this the executor and scheduler of the whole async layer. */
+    @Contract(" -> this")
+    public synchronized VirtualTimeExecutor install() {
+        previousExecutor = AsyncExecutor.INSTANCE.executor();
+        previousScheduler = AsyncExecutor.INSTANCE.scheduler();
+
+        AsyncExecutor.INSTANCE.use((Executor) this).use((Scheduler) this);
+        return this;
+    }
+
+    /** Restores the executor and scheduler that were in use before {@link #install()}. */
+    public synchronized void uninstall() {
+        if (previousExecutor == null) { return; }
+
+        AsyncExecutor.INSTANCE.use(previousExecutor).use(previousScheduler);
+        previousExecutor = null;
+        previousScheduler = null;
+    }
+
+    // ----- Executor and Scheduler -----
+
+    @Override
+    public synchronized void execute(@NotNull Runnable command) {
+        tasks.add(command);
+    }
+
+    @Override
+    public synchronized Timer schedule(@NotNull Timeout delay, @NotNull Runnable action) {
+        var timer = new VirtualTimer(this, now + Math.max(0, delay.nanoseconds()), sequence++, action);
+        timers.add(timer);
+        return timer;
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return now;
+    }
+
+    // ----- Stepping -----
+
+    /** Runs one queued task. Returns false if no task was queued. */
+    public boolean step() {
+        var task = nextTask();
+        if (task == null) { return false; }
+
+        task.run();
+        return true;
+    }
+
+    /** Runs queued tasks, including the ones they queue, until none is left. Returns the number of tasks run. */
+    public int runUntilIdle() {
+        var count = 0;
+        while (step()) { count++; }
+        return count;
+    }
+
+    /**
+     * Moves the clock forward by the given amount. Timers expire in deadline order, with the clock set to their
+     * deadline, and the tasks queued by each timer run before the next one expires.
+     */
+    public int advance(@NotNull Timeout duration) {
+        long target;
+        synchronized (this) {
+            target = now + duration.nanoseconds();
+        }
+
+        return advanceTo(target);
+    }
+
+    /** Moves the clock to the next timer deadline and expires it. Returns false if no timer is pending. */
+    public boolean advanceToNext() {
+        long target;
+        synchronized (this) {
+            var next = timers.peek();
+            if (next == null) { return false; }
+            target = Math.max(now, next.deadline());
+        }
+
+        advanceTo(target);
+        return true;
+    }
+
+    /** Expires timers and runs tasks until neither is left. Returns the number of tasks run. */
+    public int runAll() {
+        var count = runUntilIdle();
+        while (advanceToNext()) { count += runUntilIdle(); }
+        return count;
+    }
+
+    // ----- State Methods -----
+
+    public synchronized int pendingTasks() {
+        return tasks.size() - head;
+    }
+
+    public synchronized int pendingTimers() {
+        return timers.size();
+    }
+
+    public synchronized boolean isIdle() {
+        return tasks.size() == head && timers.isEmpty();
+    }
+
+    // ----- Internal Methods -----
+
+    private int advanceTo(long target) {
+        var count = runUntilIdle();
+
+        while (true) {
+            VirtualTimer timer;
+            synchronized (this) {
+                timer = timers.peek();
+                if (timer == null || timer.deadline() > target) {
+                    now = Math.max(now, target);
+                    return count;
+                }
+
+                timers.poll();
+                now = Math.max(now, timer.deadline());
+            }
+
+            timer.expire();
+            count += runUntilIdle();
+        }
+    }
+
+    private synchronized Runnable nextTask() {
+        var size = tasks.size() - head;
+        if (size == 0) { return null; }
+
+        Runnable task;
+        if (random == null) {
+            task = tasks.set(head++, null);
+        } else {
+            // Swapping the picked task with the oldest one keeps the removal constant in time.
+            var index = head + random.nextInt(size);
+            task = tasks.get(index);
+            tasks.set(index, tasks.get(head));
+            tasks.set(head++, null);
+        }
+
+        if (head == tasks.size()) {
+            tasks.clear();
+            head = 0;
+        }
+
+        return task;
+    }
+
+    private synchronized boolean remove(VirtualTimer timer) {
+        return timers.remove(timer);
+    }
+
+    // ----- Timer Implementation -----
+
+    private static final class VirtualTimer implements Timer {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final VirtualTimeExecutor executor;
+        private final long deadline;
+        private final long sequence;
+        private final Runnable action;
+        private volatile int state = PENDING;
+
+        private VirtualTimer(VirtualTimeExecutor executor, long deadline, long sequence, Runnable action) {
+            this.executor = executor;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        private long deadline() {
+            return deadline;
+        }
+
+        private long sequence() {
+            return sequence;
+        }
+
+        private void expire() {
+            if (state != PENDING) { return; }
+
+            state = EXPIRED;
+            action.run();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!executor.remove(this) || state != PENDING) { return false; }
+
+            state = CANCELLED;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+}
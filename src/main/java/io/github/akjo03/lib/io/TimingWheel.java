@@ -0,0 +1,319 @@
+package io.github.akjo03.lib.io;
+
+import io.github.akjo03.lib.functional.Terminatable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Hashed timing wheel running delayed actions on a single worker thread, which parks while no timers are pending.
+ * Expired actions run on the worker thread and should therefore be short or hand off to an executor.
+ */
+@SuppressWarnings({"unused", "java:S125"})
+public final class TimingWheel implements Scheduler, Terminatable {
+    private static final class Holder {
+        private static final TimingWheel SHARED = new TimingWheel(Timeout.timeout(1).millis(), 512);
+    }
+
+    private static final int PENDING = 0;
+    private static final int SCHEDULED = 1;
+    private static final int CANCELLED = 2;
+    private static final int EXPIRED = 3;
+
+    private final long tickNanos;
+    private final int mask;
+    private final TimerImpl[] buckets;
+    private final long startNanos;
+    private final Thread worker;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile TimerImpl pendingTimers;
+    private volatile TimerImpl cancelledTimers;
+    private volatile boolean idle;
+    private volatile boolean terminated;
+    private long tick;
+
+    private static final VarHandle pendingHandle;
+    private static final VarHandle cancelledHandle;
+
+    static {
+        try {
+            final var lookup = MethodHandles.lookup();
+            pendingHandle = lookup.findVarHandle(TimingWheel.class, "pendingTimers", TimerImpl.class);
+            cancelledHandle = lookup.findVarHandle(TimingWheel.class, "cancelledTimers", TimerImpl.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public TimingWheel(@NotNull Timeout tick, int wheelSize) {
+        if (tick.nanoseconds() <= 0) {
+            throw new IllegalArgumentException("Tick of TimingWheel must be greater than 0, but was " + tick + "!");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Size of TimingWheel must be a power of two, but was " + wheelSize + "!");
+        }
+
+        this.tickNanos = tick.nanoseconds();
+        this.mask = wheelSize - 1;
+        this.buckets = new TimerImpl[wheelSize];
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform()
+                .daemon()
+                .name("akjolib-timing-wheel")
+                .start(this::run);
+    }
+
+    @Contract(pure = true)
+    public static TimingWheel shared() {
+        return Holder.SHARED;
+    }
+
+    // ----- Scheduling -----
+
+    @Override
+    public Timer schedule(@NotNull Timeout delay, @NotNull Runnable action) {
+        var timer = new TimerImpl(this, System.nanoTime() + delay.nanoseconds(), action);
+
+        if (terminated) {
+            timer.state = CANCELLED;
+            return timer;
+        }
+
+        TimerImpl oldHead;
+        do {
+            oldHead = pendingTimers;
+            timer.stackNext = oldHead;
+        } while (!pendingHandle.compareAndSet(this, oldHead, timer));
+
+        size.incrementAndGet();
+        if (idle) { LockSupport.unpark(worker); }
+
+        return timer;
+    }
+
+    public int pending() {
+        return size.get();
+    }
+
+    @Override
+    public void terminate() {
+        terminated = true;
+        LockSupport.unpark(worker);
+    }
+
+    // ----- Worker -----
+
+    private void run() {
+        while (!terminated) {
+            if (size.get() == 0) {
+                awaitTimers();
+                continue;
+            }
+
+            var deadline = startNanos + (tick + 1) * tickNanos;
+            long remaining;
+
+            while ((remaining = deadline - System.nanoTime()) > 0 && !terminated) {
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            unlinkCancelled();
+            transferPending();
+            expire(tick & mask);
+            tick++;
+        }
+    }
+
+    private void awaitTimers() {
+        unlinkCancelled();
+
+        idle = true;
+        while (size.get() == 0 && !terminated) {
+            LockSupport.park(this);
+        }
+        idle = false;
+
+        tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+    }
+
+    private void transferPending() {
+        var timer = (TimerImpl) pendingHandle.getAndSet(this, null);
+
+        while (timer != null) {
+            var next = timer.stackNext;
+            timer.stackNext = null;
+
+            if (TimerImpl.stateHandle.compareAndSet(timer, PENDING, SCHEDULED)) {
+                var target = Math.max(tick, (timer.deadline - startNanos + tickNanos - 1) / tickNanos - 1);
+                timer.rounds = (target - tick) / buckets.length;
+                link(timer, (int) (target & mask));
+            }
+
+            timer = next;
+        }
+    }
+
+    private void unlinkCancelled() {
+        var timer = (TimerImpl) cancelledHandle.getAndSet(this, null);
+
+        while (timer != null) {
+            var next = timer.stackNext;
+            timer.stackNext = null;
+            unlink(timer);
+            timer = next;
+        }
+    }
+
+    private void expire(long index) {
+        var timer = buckets[(int) index];
+
+        while (timer != null) {
+            var next = timer.next;
+
+            if (timer.state == CANCELLED) {
+                unlink(timer);
+            } else if (timer.rounds <= 0) {
+                unlink(timer);
+                timer.expire();
+            } else {
+                timer.rounds--;
+            }
+
+            timer = next;
+        }
+    }
+
+    private void link(@NotNull TimerImpl timer, int bucket) {
+        var head = buckets[bucket];
+
+        timer.bucket = bucket;
+        timer.next = head;
+        if (head != null) { head.prev = timer; }
+        buckets[bucket] = timer;
+    }
+
+    private void unlink(@NotNull TimerImpl timer) {
+        if (timer.bucket < 0) { return; }
+
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) { timer.next.prev = timer.prev; }
+
+        timer.bucket = -1;
+        timer.next = null;
+        timer.prev = null;
+    }
+
+    private void pushCancelled(@NotNull TimerImpl timer) {
+        TimerImpl oldHead;
+        do {
+            oldHead = cancelledTimers;
+            timer.stackNext = oldHead;
+        } while (!cancelledHandle.compareAndSet(this, oldHead, timer));
+    }
+
+    // ----- Timer Implementation -----
+
+    private static final class TimerImpl implements Timer {
+        private final TimingWheel wheel;
+        private final long deadline;
+        private Runnable action;
+        private volatile int state;
+
+        private TimerImpl stackNext;
+        private TimerImpl next;
+        private TimerImpl prev;
+        private long rounds;
+        private int bucket = -1;
+
+        private static final VarHandle stateHandle;
+
+        static {
+            try {
+                stateHandle = MethodHandles.lookup().findVarHandle(TimerImpl.class, "state", int.class);
+            } catch (final ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private TimerImpl(TimingWheel wheel, long deadline, Runnable action) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        private void expire() {
+            if (!stateHandle.compareAndSet(this, SCHEDULED, EXPIRED)) { return; }
+
+            var runnable = action;
+            action = null;
+            wheel.size.decrementAndGet();
+
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            while (true) {
+                var current = state;
+
+                if (current != PENDING && current != SCHEDULED) { return false; }
+
+                if (stateHandle.compareAndSet(this, current, CANCELLED)) {
+                    action = null;
+                    wheel.size.decrementAndGet();
+                    if (current == SCHEDULED) { wheel.pushCancelled(this); }
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "Timer(" + switch (state) {
+                case PENDING, SCHEDULED -> "pending";
+                case CANCELLED -> "cancelled";
+                default -> "expired";
+            } + ")";
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class AsyncExecutorTest {
+    private VirtualTimeExecutor virtualTime;
+
+    @AfterEach
+    void reopen() {
+        if (virtualTime != null) { virtualTime.uninstall(); }
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.virtualThreads());
+    }
+
+    @Test
+    void testDrain_shouldWaitForInFlightTasks() throws InterruptedException {
+        var started = new CountDownLatch(3);
+        var finished = new AtomicInteger();
+
+        for (var i = 0; i < 3; i++) {
+            Promise.<Integer>promise(promise -> {
+                started.countDown();
+                sleep(50);
+                finished.incrementAndGet();
+                promise.success(1);
+            });
+        }
+        started.await();
+
+        var report = AsyncExecutor.INSTANCE.drain(Timeout.timeout(5).seconds()).join();
+
+        assertEquals(Result.success(new AsyncExecutor.DrainReport(3, 0, 0)), report);
+        assertEquals(3, finished.get());
+        assertEquals(0, AsyncExecutor.INSTANCE.inFlight());
+    }
+
+    @Test
+    void testClose_shouldRejectNewWork() {
+        AsyncExecutor.INSTANCE.close().join();
+
+        assertTrue(AsyncExecutor.INSTANCE.isClosing());
+        assertEquals(OperationException.CANCELLED.result(), Promise.<Integer>promise(promise -> promise.success(1)).join());
+        assertThrows(RejectedExecutionException.class, () -> AsyncExecutor.INSTANCE.runAsync(() -> {}));
+    }
+
+    @Test
+    void testInFlight_shouldCountUntilPromiseResolves() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var promise = Promise.<Integer>promise(__ -> {});
+        AsyncExecutor.INSTANCE.runAsync(() -> {});
+
+        assertEquals(2, AsyncExecutor.INSTANCE.inFlight());
+
+        virtualTime.runUntilIdle();
+        assertEquals(1, AsyncExecutor.INSTANCE.inFlight());
+
+        promise.success(1);
+        assertEquals(0, AsyncExecutor.INSTANCE.inFlight());
+    }
+
+    @Test
+    void testDrain_shouldWaitForPromiseOfWorkStartedBeforeClosing() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var promise = Promise.<Integer>promise(__ -> {});
+        virtualTime.runUntilIdle();
+
+        var report = AsyncExecutor.INSTANCE.drain(null);
+        virtualTime.runUntilIdle();
+        assertFalse(report.isResolved());
+
+        promise.success(1);
+        virtualTime.runUntilIdle();
+
+        assertEquals(Result.success(new AsyncExecutor.DrainReport(1, 0, 0)), report.join());
+    }
+
+    @Test
+    void testDrain_timeoutPassed_shouldCancelRemainingTasks() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var hanging = Promise.<Integer>promise(__ -> {});
+        var queued = Promise.<Integer>promise(__ -> {});
+
+        var report = AsyncExecutor.INSTANCE.drain(Timeout.timeout(50).millis());
+        virtualTime.step();
+        virtualTime.advance(Timeout.timeout(50).millis());
+
+        assertEquals(Result.success(new AsyncExecutor.DrainReport(0, 2, 0)), report.join());
+        assertEquals(OperationException.CANCELLED.result(), hanging.join());
+        assertEquals(OperationException.CANCELLED.result(), queued.join());
+    }
+
+    @Test
+    void testDrain_timeoutPassed_shouldCancelPromiseOfWorkStartedBeforeClosing() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var promise = Promise.<Integer>promise(__ -> {});
+        virtualTime.runUntilIdle();
+
+        var report = AsyncExecutor.INSTANCE.drain(Timeout.timeout(50).millis());
+        virtualTime.advance(Timeout.timeout(50).millis());
+
+        assertEquals(Result.success(new AsyncExecutor.DrainReport(0, 1, 0)), report.join());
+        assertEquals(OperationException.CANCELLED.result(), promise.join());
+        assertEquals(0, AsyncExecutor.INSTANCE.inFlight());
+    }
+
+    @Test
+    void testAsync_whileClosing_shouldNotCancelReceiver() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var existing = Promise.<Integer>promise();
+
+        AsyncExecutor.INSTANCE.close();
+        existing.async(promise -> promise.success(1));
+        virtualTime.runUntilIdle();
+
+        assertEquals(Result.success(1), existing.join());
+    }
+
+    @Test
+    void testTerminate_shouldCancelImmediately() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var queued = Promise.<Integer>promise(__ -> {});
+
+        AsyncExecutor.INSTANCE.terminate();
+        virtualTime.runUntilIdle();
+
+        assertEquals(OperationException.CANCELLED.result(), queued.join());
+        assertEquals(0, AsyncExecutor.INSTANCE.inFlight());
+    }
+
+    @Test
+    void testTerminate_platformPool_shouldCancelQueuedWork() throws InterruptedException {
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.platformThreads(1));
+        var started = new CountDownLatch(1);
+        var running = Promise.<Integer>promise(promise -> {
+            started.countDown();
+            sleep(10_000);
+        });
+        var queued = IntStream.range(0, 5).mapToObj(i -> Promise.<Integer>promise(promise -> promise.success(i))).toList();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        AsyncExecutor.INSTANCE.terminate();
+
+        queued.forEach(promise -> assertEquals(OperationException.CANCELLED.result(), promise.join()));
+        assertEquals(OperationException.CANCELLED.result(), running.join());
+        assertEquals(0, AsyncExecutor.INSTANCE.inFlight());
+    }
+
+    @Test
+    void testUse_afterClose_shouldAcceptWorkAgain() {
+        AsyncExecutor.INSTANCE.close().join();
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.virtualThreads());
+
+        assertFalse(AsyncExecutor.INSTANCE.isClosing());
+        assertEquals(Result.success(2), Promise.<Integer>promise(promise -> promise.success(1)).map(value -> value * 2).join());
+    }
+
+    @Test
+    void testUse_virtualThreads_shouldRunWorkOnVirtualThread() {
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.virtualThreads());
+
+        assertTrue(workerThread().isVirtual());
+    }
+
+    @Test
+    void testUse_platformThreads_shouldRunWorkOnPoolThread() {
+        var executor = AsyncExecutor.platformThreads(2);
+        AsyncExecutor.INSTANCE.use(executor);
+
+        var thread = workerThread();
+        assertFalse(thread.isVirtual());
+        assertTrue(thread.isDaemon());
+        assertNotSame(Thread.currentThread(), thread);
+        ((ExecutorService) executor).shutdown();
+    }
+
+    @Test
+    void testUse_forkJoin_shouldRunWorkOnCommonPool() {
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.forkJoin());
+
+        assertTrue(workerThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void testUse_callerRuns_shouldRunWorkSynchronouslyOnCaller() {
+        AsyncExecutor.INSTANCE.use(AsyncExecutor.callerRuns());
+
+        var promise = Promise.<Thread>promise(current -> current.success(Thread.currentThread()));
+
+        assertTrue(promise.isResolved());
+        assertSame(Thread.currentThread(), promise.join().orThrow());
+    }
+
+    @Test
+    void testUse_customExecutor_shouldReceiveWork() {
+        var executions = new AtomicInteger();
+        var delegate = AsyncExecutor.virtualThreads();
+        AsyncExecutor.INSTANCE.use(command -> {
+            executions.incrementAndGet();
+            delegate.execute(command);
+        });
+
+        assertTrue(workerThread().isVirtual());
+        assertTrue(executions.get() > 0);
+    }
+
+    private static Thread workerThread() {
+        return Promise.<Thread>promise(promise -> promise.success(Thread.currentThread())).join().orThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.AsyncClosable;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.akjo03.lib.functional.Functions.Function0;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class AsyncPoolTest {
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private VirtualTimeExecutor virtualTime;
+
+    @AfterEach
+    void uninstall() {
+        if (virtualTime != null) { virtualTime.uninstall(); }
+    }
+
+    private record Resource(int id, AtomicBoolean healthy, AtomicInteger closed) implements AsyncClosable {
+        @Override
+        public Promise<Unit> close() {
+            closed.incrementAndGet();
+            return Promise.successful(Unit.unit());
+        }
+    }
+
+    private Function0<Promise<Resource>> factory() {
+        return () -> Promise.successful(new Resource(created.incrementAndGet(), new AtomicBoolean(true), closed));
+    }
+
+    @Test
+    void testAcquire_releasedObject_shouldBeReused() {
+        var pool = AsyncPool.pool(factory(), 0, 2, Timeout.timeout(10).seconds());
+
+        var first = pool.acquire().join().orThrow();
+        first.release();
+        var second = pool.acquire().join().orThrow();
+
+        assertSame(first.value(), second.value());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void testAcquire_maxSizeReached_shouldWaitForRelease() {
+        var pool = AsyncPool.pool(factory(), 0, 1, Timeout.timeout(10).seconds());
+
+        var first = pool.acquire().join().orThrow();
+        var waiting = pool.acquire();
+
+        assertFalse(waiting.isResolved());
+        assertEquals(1, pool.waiting());
+
+        first.release();
+
+        assertSame(first.value(), waiting.join().orThrow().value());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testAcquire_invalidObject_shouldBeReplaced() {
+        var pool = AsyncPool.<Resource>pool(factory(), 0, 1, Timeout.timeout(10).seconds(), supplier -> {
+            var resource = supplier.apply();
+            return resource.healthy().get() ? Result.success(resource) : RejectionCause.POOL_CLOSED.result();
+        });
+
+        var first = pool.acquire().join().orThrow();
+        first.value().healthy().set(false);
+        first.release();
+        var second = pool.acquire().join().orThrow();
+
+        assertNotSame(first.value(), second.value());
+        assertEquals(1, closed.get());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testEviction_idleObjects_shouldShrinkToMinimumSize() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        var pool = AsyncPool.pool(factory(), 1, 3, Timeout.timeout(50).millis());
+
+        var acquired = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+        virtualTime.runUntilIdle();
+        acquired.forEach(lease -> lease.join().orThrow().release());
+        assertEquals(3, pool.idle());
+
+        virtualTime.advance(Timeout.timeout(100).millis());
+
+        assertEquals(1, pool.size());
+        assertEquals(2, closed.get());
+
+        var closing = pool.close();
+        virtualTime.runUntilIdle();
+        assertEquals(Result.success(Unit.unit()), closing.join());
+    }
+
+    @Test
+    void testClose_shouldCloseMembersAndRejectAcquire() {
+        var pool = AsyncPool.pool(factory(), 2, 2, Timeout.timeout(10).seconds());
+        var leased = pool.acquire().join().orThrow();
+
+        var closing = pool.close();
+        assertFalse(closing.isResolved());
+        assertEquals(RejectionCause.POOL_CLOSED.result(), pool.acquire().join());
+
+        leased.release();
+
+        assertEquals(Result.success(Unit.unit()), closing.join());
+        assertEquals(2, closed.get());
+        assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class BatchingLoaderTest {
+    @Test
+    void testLoad_withinWindow_shouldUseOneBulkCall() {
+        var calls = new CopyOnWriteArrayList<Set<Integer>>();
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(keys -> {
+            calls.add(Set.copyOf(keys));
+            return Promise.successful(keys.stream().collect(Collectors.toMap(Function.identity(), key -> key * 2)));
+        }, Timeout.timeout(1).minutes(), 100);
+
+        var first = loader.load(1);
+        var second = loader.load(2);
+        var duplicate = loader.load(1);
+        loader.flush();
+
+        assertEquals(Result.success(2), first.join());
+        assertEquals(Result.success(4), second.join());
+        assertEquals(Result.success(2), duplicate.join());
+        assertEquals(List.of(Set.of(1, 2)), calls);
+    }
+
+    @Test
+    void testLoad_maxBatchSize_shouldDispatchWithoutWaiting() {
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(
+                keys -> Promise.successful(keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity()))),
+                Timeout.timeout(1).minutes(), 2
+        );
+
+        assertEquals(Result.success(List.of(1, 2)), loader.loadAll(List.of(1, 2)).join(Timeout.timeout(5).seconds()));
+    }
+
+    @Test
+    void testLoad_missingKey_shouldFail() {
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(
+                keys -> Promise.successful(Map.of()), Timeout.timeout(1).millis(), 10
+        );
+
+        assertTrue(loader.load(1).join().isFailure());
+    }
+
+    @Test
+    void testLoad_withCache_shouldNotReloadKey() {
+        var calls = new CopyOnWriteArrayList<Set<Integer>>();
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(keys -> {
+            calls.add(Set.copyOf(keys));
+            return Promise.successful(keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity())));
+        }, Timeout.timeout(1).millis(), 10, true);
+
+        assertEquals(Result.success(1), loader.load(1).join());
+        assertEquals(Result.success(1), loader.load(1).join());
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void testLoad_withCache_cancelledCaller_shouldNotFailOtherCallers() {
+        var calls = new CopyOnWriteArrayList<Set<Integer>>();
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(keys -> {
+            calls.add(Set.copyOf(keys));
+            return Promise.successful(keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity())));
+        }, Timeout.timeout(1).minutes(), 10, true);
+
+        var cancelled = loader.load(1);
+        var waiting = loader.load(1);
+        cancelled.cancel();
+        loader.flush();
+
+        assertEquals(Result.success(1), waiting.join());
+        assertEquals(Result.success(1), loader.load(1).join());
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void testLoad_withCache_cancelThenReload_shouldLoadAgain() {
+        var calls = new CopyOnWriteArrayList<Set<Integer>>();
+        BatchingLoader<Integer, Integer> loader = BatchingLoader.batchingLoader(keys -> {
+            calls.add(Set.copyOf(keys));
+            return Promise.successful(keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity())));
+        }, Timeout.timeout(1).minutes(), 10, true);
+
+        loader.load(1).cancel();
+        var reloaded = loader.load(1);
+        loader.flush();
+
+        assertEquals(Result.success(1), reloaded.join());
+        assertEquals(List.of(Set.of(1)), calls);
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class BulkheadTest {
+    @Test
+    void testCall_saturated_shouldQueueThenReject() {
+        var bulkhead = Bulkhead.bulkhead(1, 1);
+        var gate = Promise.<Integer>promise();
+
+        var running = bulkhead.call(() -> gate);
+        var waiting = bulkhead.call(() -> Promise.successful(2));
+        var rejected = bulkhead.call(() -> Promise.successful(3));
+
+        assertEquals(1, bulkhead.active());
+        assertEquals(1, bulkhead.queued());
+        assertEquals(RejectionCause.BULKHEAD_FULL.result(), rejected.join());
+
+        gate.success(1);
+        assertEquals(Result.success(1), running.join());
+        assertEquals(Result.success(2), waiting.join());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    void testCall_manySynchronousCalls_shouldAllComplete() {
+        var bulkhead = Bulkhead.bulkhead(1, 10_000);
+        var gate = Promise.<Integer>promise();
+        List<Promise<Integer>> promises = new ArrayList<>();
+
+        bulkhead.call(() -> gate);
+        for (int i = 0; i < 10_000; i++) {
+            var value = i;
+            promises.add(bulkhead.call(() -> Promise.successful(value)));
+        }
+        gate.success(-1);
+
+        for (int i = 0; i < promises.size(); i++) {
+            assertEquals(Result.success(i), promises.get(i).join());
+        }
+    }
+}
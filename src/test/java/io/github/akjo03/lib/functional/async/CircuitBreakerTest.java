@@ -0,0 +1,55 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class CircuitBreakerTest {
+    @Test
+    void testCall_failuresAboveThreshold_shouldOpen() {
+        var breaker = CircuitBreaker.circuitBreaker(2, Timeout.timeout(1).minutes());
+
+        breaker.call(() -> Promise.<Integer>failed(OperationException.FAULT)).join();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.call(() -> Promise.<Integer>failed(OperationException.FAULT)).join();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(RejectionCause.CIRCUIT_OPEN.result(), breaker.call(() -> Promise.successful(1)).join());
+        assertEquals(1, breaker.rejectedCount());
+    }
+
+    @Test
+    void testCall_successfulProbe_shouldClose() throws InterruptedException {
+        var breaker = CircuitBreaker.circuitBreaker(1, Timeout.timeout(10).millis());
+
+        breaker.call(() -> Promise.<Integer>failed(OperationException.FAULT)).join();
+        Thread.sleep(20);
+
+        var probe = Promise.<Integer>promise();
+        var result = breaker.call(() -> probe);
+        assertEquals(RejectionCause.CIRCUIT_OPEN.result(), breaker.call(() -> Promise.successful(2)).join());
+
+        probe.success(1);
+        assertEquals(Result.success(1), result.join());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+}
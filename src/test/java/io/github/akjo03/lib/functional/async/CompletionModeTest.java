@@ -0,0 +1,71 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class CompletionModeTest {
+    @AfterEach
+    void reset() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.ASYNC);
+    }
+
+    @Test
+    void testInline_listener_shouldRunOnResolvingThread() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.INLINE);
+        var promise = Promise.<Integer>promise();
+        var listenerThread = new AtomicReference<Thread>();
+
+        promise.onResult(result -> listenerThread.set(Thread.currentThread()));
+        promise.success(1);
+
+        assertSame(Thread.currentThread(), listenerThread.get());
+    }
+
+    @Test
+    void testInline_deepChain_shouldFallBackToAsyncWithoutOverflow() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.INLINE);
+        var promises = new ArrayList<Promise<Integer>>();
+        for (var i = 0; i < 10_000; i++) { promises.add(Promise.promise()); }
+
+        var first = new AtomicReference<Thread>();
+        var last = new AtomicReference<Thread>();
+
+        // Each listener resolves the next promise, so every completion nests inside the previous one.
+        for (var i = 0; i < promises.size() - 1; i++) {
+            var next = promises.get(i + 1);
+            promises.get(i).onResult(result -> {
+                first.compareAndSet(null, Thread.currentThread());
+                next.resolve(result.map(value -> value + 1));
+            });
+        }
+        promises.getLast().onResult(result -> last.set(Thread.currentThread()));
+
+        promises.getFirst().success(0);
+
+        assertEquals(Result.success(9_999), promises.getLast().join());
+        assertSame(Thread.currentThread(), first.get());
+        assertNotSame(Thread.currentThread(), last.get());
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class KeyedExecutorTest {
+    private VirtualTimeExecutor virtualTime;
+
+    @AfterEach
+    void uninstall() {
+        if (virtualTime != null) { virtualTime.uninstall(); }
+    }
+
+    @Test
+    void testSubmit_sameKey_shouldRunInSubmissionOrder() {
+        KeyedExecutor<String> executor = KeyedExecutor.keyed();
+        var order = new CopyOnWriteArrayList<Integer>();
+        List<Promise<Integer>> promises = new ArrayList<>();
+
+        for (var i = 0; i < 100; i++) {
+            var index = i;
+            promises.add(executor.<Integer>submit("key", promise -> {
+                order.add(index);
+                promise.success(index);
+            }));
+        }
+        promises.forEach(Promise::join);
+
+        assertEquals(IntStream.range(0, 100).boxed().toList(), order);
+    }
+
+    @Test
+    void testSubmit_waitsForAsyncPredecessor() {
+        KeyedExecutor<String> executor = KeyedExecutor.keyed();
+        var gate = Promise.<Integer>promise();
+
+        var first = executor.submit("key", () -> gate);
+        var second = executor.submit("key", () -> Promise.successful(2));
+
+        assertFalse(second.isResolved());
+        gate.success(1);
+
+        assertEquals(Result.success(1), first.join());
+        assertEquals(Result.success(2), second.join());
+    }
+
+    @Test
+    void testSubmit_throwingTask_shouldFailAndReleaseKey() {
+        KeyedExecutor<String> executor = KeyedExecutor.keyed();
+
+        var failed = executor.<Integer>submit("key", promise -> { throw new IllegalStateException("failure"); });
+        var next = executor.submit("key", () -> Promise.successful(1));
+
+        assertTrue(failed.join().isFailure());
+        assertEquals(Result.success(1), next.join());
+    }
+
+    @Test
+    void testSubmit_cancelledWaitingTask_shouldNotReleaseSuccessorEarly() {
+        KeyedExecutor<String> executor = KeyedExecutor.keyed();
+        var gate = Promise.<Integer>promise();
+        var started = new CopyOnWriteArrayList<String>();
+
+        var first = executor.submit("key", () -> {
+            started.add("first");
+            return gate;
+        });
+        var second = executor.submit("key", () -> {
+            started.add("second");
+            return Promise.successful(2);
+        });
+        second.cancel();
+        var third = executor.submit("key", () -> {
+            started.add("third");
+            return Promise.successful(3);
+        });
+
+        assertEquals(OperationException.CANCELLED.result(), second.join());
+        assertEquals(OperationException.TIMEOUT.result(), third.join(Timeout.timeout(100).millis()));
+        assertEquals(List.of("first"), started);
+
+        gate.success(1);
+
+        assertEquals(Result.success(1), first.join());
+        assertEquals(Result.success(3), third.join());
+        assertEquals(List.of("first", "third"), started);
+    }
+
+    @Test
+    void testSubmit_manyFinishedKeys_shouldBeRemoved() {
+        virtualTime = VirtualTimeExecutor.virtualTime().install();
+        KeyedExecutor<Integer> executor = KeyedExecutor.keyed();
+        List<Promise<Integer>> promises = new ArrayList<>();
+
+        for (var key = 0; key < 50_000; key++) {
+            var value = key;
+            promises.add(executor.<Integer>submit(key, promise -> promise.success(value)));
+            promises.add(executor.submit(key, () -> Promise.successful(value)));
+        }
+        assertEquals(50_000, executor.activeKeys());
+
+        virtualTime.runUntilIdle();
+
+        assertTrue(promises.stream().allMatch(Promise::isResolved));
+        assertEquals(0, executor.activeKeys());
+    }
+}
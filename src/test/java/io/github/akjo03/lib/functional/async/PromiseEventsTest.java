@@ -0,0 +1,50 @@
+package io.github.akjo03.lib.functional.async;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class PromiseEventsTest {
+    @Test
+    void testResolved_whenEnabled_shouldBeRecorded() throws IOException {
+        try (var recording = new Recording()) {
+            recording.enable("io.github.akjo03.lib.PromiseResolved");
+            recording.start();
+
+            Promise.<Integer>promise().success(1).join();
+
+            recording.stop();
+            var file = Files.createTempFile("promise-events", ".jfr");
+            recording.dump(file);
+
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("io.github.akjo03.lib.PromiseResolved"))
+                    .toList();
+            Files.delete(file);
+
+            assertFalse(events.isEmpty());
+            assertTrue(events.getFirst().getBoolean("success"));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class PromiseMetricsTest {
+    @Test
+    void testHistogram_percentiles_shouldBeBucketUpperBounds() {
+        var histogram = new PromiseMetrics.Histogram();
+        for (var i = 0; i < 90; i++) { histogram.record(100); }
+        for (var i = 0; i < 10; i++) { histogram.record(10_000); }
+
+        assertEquals(100, histogram.count());
+        assertEquals(127, histogram.percentileNanos(50));
+        assertEquals(16_383, histogram.percentileNanos(99));
+        assertEquals(1_090, histogram.meanNanos());
+    }
+
+    @Test
+    void testDisabled_shouldNotRecord() {
+        assumeFalse(PromiseMetrics.ENABLED);
+
+        Promise.<Integer>promise().success(1).join();
+        hedgeWithBackup();
+        assertEquals(0, PromiseMetrics.createdCount());
+        assertEquals(0, PromiseMetrics.queueDelay().count());
+        assertEquals(0, PromiseMetrics.hedgeFiredCount());
+        assertEquals(0, PromiseMetrics.hedgeWonCount());
+    }
+
+    // The enabled tests run in a separate surefire execution started with -Dakjolib.metrics=true.
+
+    @Test
+    void testEnabled_shouldCountPromiseLifecycle() {
+        assumeTrue(PromiseMetrics.ENABLED);
+        PromiseMetrics.reset();
+
+        var succeeding = Promise.<Integer>promise();
+        var failing = Promise.<Integer>promise();
+        assertEquals(2, PromiseMetrics.createdCount());
+        assertEquals(2, PromiseMetrics.pendingCount());
+
+        succeeding.success(1).join();
+        failing.failure(OperationException.FAULT).join();
+
+        assertEquals(2, PromiseMetrics.resolvedCount());
+        assertEquals(1, PromiseMetrics.failedCount());
+        assertEquals(2, PromiseMetrics.resolutionLatency().count());
+    }
+
+    @Test
+    void testEnabled_shouldRecordQueueDelayOfTasks() {
+        assumeTrue(PromiseMetrics.ENABLED);
+        PromiseMetrics.reset();
+
+        Promise.<Integer>promise(promise -> promise.success(1)).join();
+
+        assertTrue(PromiseMetrics.taskCount() >= 1);
+        assertTrue(PromiseMetrics.queueDelay().count() >= 1);
+    }
+
+    @Test
+    void testEnabled_shouldCountHedges() {
+        assumeTrue(PromiseMetrics.ENABLED);
+        PromiseMetrics.reset();
+
+        hedgeWithBackup();
+
+        assertEquals(1, PromiseMetrics.hedgeFiredCount());
+        assertEquals(1, PromiseMetrics.hedgeWonCount());
+    }
+
+    private static void hedgeWithBackup() {
+        var attempts = new AtomicInteger();
+        var result = Promise.hedge(() -> attempts.incrementAndGet() == 1
+                ? Promise.<Integer>promise()
+                : Promise.successful(2), Timeout.timeout(10).millis(), 2
+        ).join();
+
+        assertEquals(Result.success(2), result);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class PromiseScopeTest {
+    @Test
+    void testClose_shouldWaitForChildren() {
+        var scope = PromiseScope.scope();
+        var child = scope.<Integer>fork(promise -> promise.success(1));
+
+        assertEquals(Unit.unitResult(), scope.close().join());
+        assertTrue(child.isResolved());
+    }
+
+    @Test
+    void testFork_withFailingChild_shouldCancelSiblings() {
+        var scope = PromiseScope.scope();
+        var sibling = scope.fork(() -> Promise.<Integer>promise());
+        scope.fork(() -> Promise.<Integer>failed(OperationException.FAULT));
+
+        assertEquals(OperationException.FAULT.result(), scope.close().join());
+        assertEquals(OperationException.CANCELLED.result(), sibling.join());
+    }
+
+    @Test
+    void testFork_throwingSupplier_shouldFailAndReleaseSlot() {
+        var scope = PromiseScope.scope();
+        var child = scope.<Integer>fork(() -> { throw new IllegalStateException("boom"); });
+
+        assertTrue(child.join().isFailure());
+        assertEquals(0, scope.active());
+        assertTrue(scope.close().join().isFailure());
+    }
+
+    @Test
+    void testCloseWithTimeout_shouldCancelRemainingChildren() {
+        var scope = PromiseScope.scope();
+        var child = scope.fork(() -> Promise.<Integer>promise());
+
+        assertEquals(OperationException.TIMEOUT.result(), scope.close(Timeout.timeout(10).millis()).join());
+        assertEquals(OperationException.CANCELLED.result(), child.join());
+    }
+
+    @Test
+    void testFork_afterClose_shouldBeCancelled() {
+        var scope = PromiseScope.scope();
+        scope.close();
+
+        assertEquals(OperationException.CANCELLED.result(), scope.fork(() -> Promise.successful(1)).join());
+    }
+}
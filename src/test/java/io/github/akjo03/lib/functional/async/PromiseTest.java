@@ -0,0 +1,280 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class PromiseTest {
+    @AfterEach
+    void reset() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.ASYNC);
+    }
+
+    @Test
+    void testJoinResolved() {
+        assertEquals(Result.success(1), Promise.successful(1).join());
+    }
+
+    @Test
+    void testJoinWithTimeout_unresolved_shouldTimeOut() {
+        var result = Promise.<Integer>promise().join(Timeout.timeout(10).millis());
+        assertEquals(OperationException.TIMEOUT.result(), result);
+    }
+
+    @Test
+    void testJoin_manyWaiters_shouldAllBeReleased() throws InterruptedException {
+        var promise = Promise.<Integer>promise();
+        var latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            Thread.ofVirtual().start(() -> {
+                if (promise.join().isSuccess()) { latch.countDown(); }
+            });
+        }
+
+        promise.success(1);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMapAndFlatMap() {
+        var result = Promise.<Integer>promise(promise -> promise.success(1))
+                .map(value -> value + 1)
+                .flatMap(value -> Promise.successful(value * 2))
+                .join();
+        assertEquals(Result.success(4), result);
+    }
+
+    @Test
+    void testWithTimeout_unresolved_shouldResolveWithTimeout() {
+        var result = Promise.<Integer>promise().withTimeout(Timeout.timeout(10).millis()).join();
+        assertEquals(OperationException.TIMEOUT.result(), result);
+    }
+
+    @Test
+    void testWithTimeout_expired_shouldInterruptRunner() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+
+        var promise = Promise.<Integer>promise(current -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertEquals(OperationException.TIMEOUT.result(), promise.withTimeout(Timeout.timeout(10).millis()).join());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testWithTimeout_expired_shouldCancelUpstream() {
+        var upstream = Promise.<Integer>promise();
+        var dependent = upstream.map(value -> value + 1).withTimeout(Timeout.timeout(10).millis());
+
+        assertEquals(OperationException.TIMEOUT.result(), dependent.join());
+        assertEquals(OperationException.CANCELLED.result(), upstream.join());
+    }
+
+    @Test
+    void testOrElseAfter_resolvedInTime_shouldKeepValue() {
+        var result = Promise.<Integer>promise()
+                .orElseAfter(Timeout.timeout(1).seconds(), Result.success(2))
+                .success(1)
+                .join();
+        assertEquals(Result.success(1), result);
+    }
+
+    @Test
+    void testCancel_shouldPropagateOnlyWithoutLiveDependents() {
+        var root = Promise.<Integer>promise();
+        var first = root.map(value -> value + 1);
+        var second = root.map(value -> value + 2);
+
+        first.cancel();
+        assertFalse(root.isResolved());
+
+        second.cancel();
+        assertEquals(OperationException.CANCELLED.result(), root.join());
+    }
+
+    @Test
+    void testAllOf_shouldKeepOrder() {
+        var result = Promise.allOf(List.of(
+                Promise.<Integer>promise(promise -> promise.success(1)),
+                Promise.successful(2),
+                Promise.<Integer>promise(promise -> promise.success(3))
+        )).join();
+        assertEquals(Result.success(List.of(1, 2, 3)), result);
+    }
+
+    @Test
+    void testAllOf_withFailure_shouldCancelOthers() {
+        var pending = Promise.<Integer>promise();
+        var result = Promise.allOf(pending, Promise.failed(OperationException.FAULT)).join();
+
+        assertEquals(OperationException.FAULT.result(), result);
+        assertEquals(OperationException.CANCELLED.result(), pending.join());
+    }
+
+    @Test
+    void testTraverse_failureWhileLaunching_shouldCancelLaunchedOperation() {
+        AsyncExecutor.INSTANCE.use(CompletionMode.INLINE);
+        var first = Promise.<Integer>promise();
+        var second = Promise.<Integer>promise();
+
+        var result = Promise.traverse(List.of(0, 1), (Integer value) -> {
+            if (value == 0) { return first; }
+
+            // Fails the traversal after the first operation was launched, but before the second one is tracked.
+            first.failure(OperationException.FAULT);
+            return second;
+        }, 2);
+
+        assertEquals(OperationException.FAULT.result(), result.join());
+        assertTrue(second.isResolved());
+        assertEquals(OperationException.CANCELLED.result(), second.join());
+    }
+
+    @Test
+    void testTraverse_shouldBoundInFlightOperations() {
+        var current = new AtomicInteger();
+        var maximum = new AtomicInteger();
+
+        var result = Promise.traverse(IntStream.range(0, 100).boxed().toList(), (Integer value) -> {
+            maximum.accumulateAndGet(current.incrementAndGet(), Math::max);
+            return Promise.<Integer>promise(promise -> {
+                current.decrementAndGet();
+                promise.success(value * 2);
+            });
+        }, 4).join();
+
+        assertEquals(Result.success(IntStream.range(0, 100).map(value -> value * 2).boxed().toList()), result);
+        assertTrue(maximum.get() <= 4);
+    }
+
+    @Test
+    void testRetry_shouldRetryUntilSuccess() {
+        var attempts = new AtomicInteger();
+        var policy = RetryPolicy.fixed(Timeout.timeout(1).millis()).withMaxAttempts(5);
+
+        var result = Promise.retry(policy, () -> attempts.incrementAndGet() < 3
+                ? Promise.<Integer>failed(OperationException.FAULT)
+                : Promise.successful(attempts.get())
+        ).join();
+
+        assertEquals(Result.success(3), result);
+    }
+
+    @Test
+    void testRetry_exhausted_shouldFailWithLastCause() {
+        var attempts = new AtomicInteger();
+        var policy = RetryPolicy.fixed(Timeout.timeout(1).millis()).withMaxAttempts(3);
+
+        var result = Promise.retry(policy, () -> {
+            attempts.incrementAndGet();
+            return Promise.<Integer>failed(OperationException.FAULT);
+        }).join();
+
+        assertEquals(OperationException.FAULT.result(), result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testOnResult_shouldRunListenersInRegistrationOrder() {
+        var promise = Promise.<Integer>promise();
+        var order = new CopyOnWriteArrayList<Integer>();
+        var done = Promise.<Unit>promise();
+
+        promise.onResult(result -> order.add(1));
+        promise.onResult(result -> order.add(2));
+        promise.onResult(result -> order.add(3));
+        promise.onResultDo(() -> done.success(Unit.unit()));
+        promise.success(0);
+
+        done.join();
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    @Test
+    void testMap_longChain_shouldResolve() {
+        var root = Promise.<Integer>promise();
+        Promise<Integer> current = root;
+        for (int i = 0; i < 10_000; i++) { current = current.map(value -> value + 1); }
+
+        root.success(0);
+        assertEquals(Result.success(10_000), current.join());
+    }
+
+    @Test
+    void testJoin_deepDependencyChain_shouldNotOverflow() {
+        var root = Promise.<Integer>promise();
+        Promise<Integer> current = root;
+        for (int i = 0; i < 100_000; i++) { current = current.map(value -> value + 1); }
+
+        root.success(0);
+
+        assertEquals(Result.success(0), root.join());
+        assertTrue(current.isResolved());
+        assertEquals(Result.success(100_000), current.join());
+    }
+
+    @Test
+    void testHedge_slowFirstAttempt_shouldUseBackup() {
+        var attempts = new AtomicInteger();
+        var first = Promise.<Integer>promise();
+
+        var result = Promise.hedge(() -> attempts.incrementAndGet() == 1
+                ? first
+                : Promise.successful(2), Timeout.timeout(10).millis(), 3
+        ).join();
+
+        assertEquals(Result.success(2), result);
+        assertEquals(2, attempts.get());
+        assertEquals(OperationException.CANCELLED.result(), first.join());
+    }
+
+    @Test
+    void testHedge_allAttemptsFail_shouldFailWithLastCause() {
+        var attempts = new AtomicInteger();
+
+        var result = Promise.hedge(() -> {
+            attempts.incrementAndGet();
+            return Promise.<Integer>failed(OperationException.FAULT);
+        }, Timeout.timeout(1).minutes(), 3).join();
+
+        assertEquals(OperationException.FAULT.result(), result);
+        assertEquals(3, attempts.get());
+    }
+}
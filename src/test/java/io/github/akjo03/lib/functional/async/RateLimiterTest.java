@@ -0,0 +1,77 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class RateLimiterTest {
+    @Test
+    void testTokenBucket_burst_shouldBeGrantedImmediately() {
+        var limiter = RateLimiter.tokenBucket(3, 1, Timeout.timeout(1).minutes());
+
+        assertTrue(limiter.tryAcquire(3));
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.acquire().isResolved());
+        assertEquals(1, limiter.waiting());
+    }
+
+    @Test
+    void testTokenBucket_waiters_shouldBeServedInOrder() {
+        var limiter = RateLimiter.tokenBucket(1, 1, Timeout.timeout(5).millis());
+        List<Promise<Unit>> promises = new ArrayList<>();
+
+        for (var i = 0; i < 10; i++) { promises.add(limiter.acquire()); }
+
+        // Reading from the back, a resolved waiter must never be followed by an unresolved one in front of it.
+        while (!promises.getLast().isResolved()) {
+            var laterResolved = false;
+            for (var i = promises.size() - 1; i >= 0; i--) {
+                var resolved = promises.get(i).isResolved();
+                assertFalse(laterResolved && !resolved);
+                laterResolved |= resolved;
+            }
+            Thread.onSpinWait();
+        }
+        assertEquals(0, limiter.waiting());
+    }
+
+    @Test
+    void testSlidingWindow_shouldLimitPermitsPerWindow() {
+        var limiter = RateLimiter.slidingWindow(2, Timeout.timeout(50).millis());
+        var start = System.nanoTime();
+
+        limiter.acquire().join();
+        limiter.acquire().join();
+        limiter.acquire().join();
+
+        assertTrue(System.nanoTime() - start >= Timeout.timeout(50).millis().nanoseconds());
+    }
+
+    @Test
+    void testAcquire_tooManyPermits_shouldFail() {
+        var limiter = RateLimiter.slidingWindow(2, Timeout.timeout(1).seconds());
+
+        assertTrue(limiter.acquire(3).join().isFailure());
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class ResultPublisherTest {
+    @Test
+    void testMapAndFilter() {
+        var result = ResultPublisher.of(1, 2, 3, 4)
+                .map(value -> value * 10)
+                .filter(value -> value != 30)
+                .toPromise()
+                .join();
+        assertEquals(Result.success(List.of(10, 20, 40)), result);
+    }
+
+    @Test
+    void testBatch() {
+        var result = ResultPublisher.fromIterable(IntStream.range(0, 5).boxed().toList())
+                .batch(2)
+                .toPromise()
+                .join();
+        assertEquals(Result.success(List.of(List.of(0, 1), List.of(2, 3), List.of(4))), result);
+    }
+
+    @Test
+    void testFlatMapAsync() {
+        var result = ResultPublisher.fromIterable(IntStream.range(0, 100).boxed().toList())
+                .flatMapAsync((Integer value) -> Promise.<Integer>promise(promise -> promise.success(value)), 8)
+                .buffer(16)
+                .toPromise()
+                .map(values -> values.stream().mapToInt(Integer::intValue).sum())
+                .join();
+        assertEquals(Result.success(4950), result);
+    }
+
+    @Test
+    void testToPromise_withFailedElement_shouldFail() {
+        var result = ResultPublisher.fromResults(List.of(Result.success(1), OperationException.FAULT.<Integer>result()))
+                .toPromise()
+                .join();
+        assertEquals(OperationException.FAULT.result(), result);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class SingleFlightTest {
+    @Test
+    void testLoad_concurrentCalls_shouldShareOneLoad() {
+        SingleFlight<String, Integer> flight = SingleFlight.singleFlight();
+        var loads = new AtomicInteger();
+        var gate = Promise.<Integer>promise();
+
+        var first = flight.load("key", key -> {
+            loads.incrementAndGet();
+            return gate;
+        });
+        var second = flight.load("key", key -> {
+            loads.incrementAndGet();
+            return gate;
+        });
+
+        assertEquals(1, flight.inFlight());
+        gate.success(1);
+
+        assertEquals(Result.success(1), first.join());
+        assertEquals(Result.success(1), second.join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoad_afterResolution_shouldStartNewLoad() {
+        SingleFlight<String, Integer> flight = SingleFlight.singleFlight();
+        var loads = new AtomicInteger();
+
+        assertEquals(Result.success(1), flight.load("key", key -> Promise.successful(loads.incrementAndGet())).join());
+        assertEquals(Result.success(2), flight.load("key", key -> Promise.successful(loads.incrementAndGet())).join());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void testLoad_onlyCallerCancelled_shouldStartNewLoad() {
+        SingleFlight<String, Integer> flight = SingleFlight.singleFlight();
+        var loads = new AtomicInteger();
+
+        flight.load("key", key -> Promise.<Integer>promise()).cancel();
+        var reloaded = flight.load("key", key -> Promise.successful(loads.incrementAndGet()));
+
+        assertEquals(Result.success(1), reloaded.join());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.CauseException;
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.io.OperationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class StageAdaptersTest {
+    @Test
+    void testFromStage_shouldResolveWithStageResult() {
+        var future = new CompletableFuture<Integer>();
+        var promise = Promise.fromStage(future.thenApply(value -> value * 2));
+
+        future.complete(21);
+        assertEquals(Result.success(42), promise.join());
+    }
+
+    @Test
+    void testFromStage_listener_shouldRunOnCompletingThread() throws InterruptedException {
+        var future = new CompletableFuture<Integer>();
+        var listenerThread = new AtomicReference<Thread>();
+        var promise = Promise.fromStage(future).onResult(result -> listenerThread.set(Thread.currentThread()));
+
+        var completer = new Thread(() -> future.complete(1));
+        completer.start();
+        completer.join();
+
+        assertEquals(Result.success(1), promise.join());
+        assertSame(completer, listenerThread.get());
+    }
+
+    @Test
+    void testFromStage_cancelledStage_shouldCancelPromise() {
+        var future = new CompletableFuture<Integer>();
+        var promise = Promise.fromStage(future);
+
+        future.cancel(true);
+        assertEquals(OperationException.CANCELLED.result(), promise.join());
+    }
+
+    @Test
+    void testToCompletableFuture_failure_shouldCarryCause() {
+        var future = Promise.<Integer>failed(OperationException.FAULT).toCompletableFuture();
+
+        var exception = assertThrows(CompletionException.class, future::join);
+        assertEquals(OperationException.FAULT, ((CauseException) exception.getCause()).failure());
+    }
+
+    @Test
+    void testToCompletableFuture_cancelledFuture_shouldCancelPromise() {
+        var promise = Promise.<Integer>promise();
+
+        promise.toCompletableFuture().cancel(true);
+        assertEquals(OperationException.CANCELLED.result(), promise.join());
+    }
+}
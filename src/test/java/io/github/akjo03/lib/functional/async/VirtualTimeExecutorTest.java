@@ -0,0 +1,103 @@
+package io.github.akjo03.lib.functional.async;
+
+import io.github.akjo03.lib.functional.Result;
+import io.github.akjo03.lib.functional.Unit;
+import io.github.akjo03.lib.io.OperationException;
+import io.github.akjo03.lib.io.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class VirtualTimeExecutorTest {
+    private VirtualTimeExecutor executor;
+
+    @AfterEach
+    void uninstall() {
+        if (executor != null) { executor.uninstall(); }
+    }
+
+    @Test
+    void testAdvance_shouldExpireTimeoutWithoutSleeping() {
+        executor = VirtualTimeExecutor.virtualTime().install();
+        var promise = Promise.<Integer>promise().withTimeout(Timeout.timeout(10).seconds());
+
+        executor.advance(Timeout.timeout(9).seconds());
+        assertFalse(promise.isResolved());
+
+        executor.advance(Timeout.timeout(1).seconds());
+        assertEquals(OperationException.TIMEOUT.result(), promise.join());
+        assertEquals(Timeout.timeout(10).seconds().nanoseconds(), executor.nanoTime());
+    }
+
+    @Test
+    void testStep_shouldRunQueuedTasksOneByOne() {
+        executor = VirtualTimeExecutor.virtualTime().install();
+        var first = Promise.<Integer>promise(promise -> promise.success(1));
+        var second = Promise.<Integer>promise(promise -> promise.success(2));
+
+        assertEquals(2, executor.pendingTasks());
+        assertTrue(executor.step());
+        assertTrue(first.isResolved());
+        assertFalse(second.isResolved());
+
+        executor.runUntilIdle();
+        assertEquals(Result.success(2), second.join());
+        assertFalse(executor.step());
+    }
+
+    @Test
+    void testRunAll_shouldDriveTimeBasedUtilities() {
+        executor = VirtualTimeExecutor.virtualTime().install();
+        var limiter = RateLimiter.tokenBucket(1, 1, Timeout.timeout(1).seconds());
+        List<Promise<Unit>> permits = List.of(limiter.acquire(), limiter.acquire(), limiter.acquire());
+
+        executor.runAll();
+
+        permits.forEach(permit -> assertTrue(permit.isResolved()));
+        assertEquals(Timeout.timeout(2).seconds().nanoseconds(), executor.nanoTime());
+        assertTrue(executor.isIdle());
+    }
+
+    @Test
+    void testVirtualTime_sameSeed_shouldReproduceInterleaving() {
+        assertEquals(interleaving(VirtualTimeExecutor.virtualTime(42)), interleaving(VirtualTimeExecutor.virtualTime(42)));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), interleaving(VirtualTimeExecutor.virtualTime()));
+    }
+
+    private List<Integer> interleaving(VirtualTimeExecutor virtualTime) {
+        executor = virtualTime.install();
+        var order = new ArrayList<Integer>();
+
+        for (var i = 0; i < 8; i++) {
+            var index = i;
+            Promise.<Integer>promise(promise -> {
+                order.add(index);
+                promise.success(index);
+            });
+        }
+        executor.runAll();
+        executor.uninstall();
+
+        return order;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.akjo03.lib.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *  Copyright (c) 2024 Lukas Küffer.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+@SuppressWarnings("java:S125")
+class TimingWheelTest {
+    @Test
+    void testSchedule_shouldExpireAfterDelay() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var start = System.nanoTime();
+
+        var timer = TimingWheel.shared().schedule(Timeout.timeout(20).millis(), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timer.isExpired());
+    }
+
+    @Test
+    void testCancel_shouldNotExpire() throws InterruptedException {
+        var fired = new AtomicBoolean();
+
+        var timer = TimingWheel.shared().schedule(Timeout.timeout(10).millis(), () -> fired.set(true));
+
+        assertTrue(timer.cancel());
+        assertFalse(timer.cancel());
+        Thread.sleep(50);
+        assertFalse(fired.get());
+        assertTrue(timer.isCancelled());
+    }
+
+    @Test
+    void testConstructor_withInvalidSize_shouldThrowException() {
+        var tick = Timeout.timeout(1).millis();
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(tick, 100));
+    }
+}